@@ -0,0 +1,378 @@
+package lab;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+public class AsyncFileTask {
+
+    // Потокове видалення літер без рядків: файл читається FileChannel великими буферами,
+    // фільтр працює прямо з байтами UTF-8 на місці, записувач віддає буфер назад у пул.
+    // Черги між стадіями обмежені пулом із BUFFERS_PER_FILE буферів, тож повільний запис
+    // гальмує читання, а пам'ять на файл не перевищує BUFFERS_PER_FILE * BUFFER_SIZE.
+    static final class StreamingFilter {
+        static final int BUFFER_SIZE = 1 << 20;
+        static final int BUFFERS_PER_FILE = 4;
+        private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+        // Ті самі символи, що й у [a-zA-Zа-яА-ЯіІїЇєЄ]; кирилиця в UTF-8 — це D0 xx або D1 xx
+        static boolean isLetter(int lead, int b) {
+            if (lead == 0xD0) return (b >= 0x90 && b <= 0xBF) || b == 0x84 || b == 0x86 || b == 0x87;
+            if (lead == 0xD1) return (b >= 0x80 && b <= 0x8F) || b == 0x94 || b == 0x96 || b == 0x97;
+            return false;
+        }
+
+        // Фільтрує [0, limit) на місці; буфер ніколи не закінчується обірваним символом
+        static void filter(ByteBuffer buf) {
+            byte[] a = buf.array();
+            int n = buf.limit(), w = 0;
+            for (int i = 0; i < n; i++) {
+                int b = a[i] & 0xFF;
+                if (b < 0x80) {
+                    if ((b | 0x20) >= 'a' && (b | 0x20) <= 'z') continue;
+                } else if ((b == 0xD0 || b == 0xD1) && i + 1 < n && isLetter(b, a[i + 1] & 0xFF)) {
+                    i++;
+                    continue;
+                }
+                a[w++] = (byte) b;
+            }
+            buf.limit(w);
+        }
+
+        // Скільки байтів у кінці належать незавершеному символу UTF-8
+        static int incompleteTail(byte[] a, int n) {
+            for (int k = 1; k <= Math.min(3, n); k++) {
+                int b = a[n - k] & 0xFF;
+                if ((b & 0xC0) == 0x80) continue;
+                int len = b >= 0xF0 ? 4 : b >= 0xE0 ? 3 : b >= 0xC0 ? 2 : 1;
+                return len > k ? k : 0;
+            }
+            return 0;
+        }
+
+        // Три стадії блокуються на чергах одночасно: executor має вміти виконувати їх паралельно
+        // (віртуальні потоки, кешований пул або фіксований щонайменше з трьох потоків на файл)
+        static CompletableFuture<Long> filterAsync(Path in, Path out, Executor executor) {
+            BlockingQueue<ByteBuffer> free = new ArrayBlockingQueue<>(BUFFERS_PER_FILE);
+            for (int i = 0; i < BUFFERS_PER_FILE; i++) free.add(ByteBuffer.allocate(BUFFER_SIZE));
+            BlockingQueue<ByteBuffer> read = new ArrayBlockingQueue<>(BUFFERS_PER_FILE + 1);
+            BlockingQueue<ByteBuffer> filtered = new ArrayBlockingQueue<>(BUFFERS_PER_FILE + 1);
+
+            CompletableFuture<Void> reader = CompletableFuture.runAsync(() -> {
+                try (FileChannel ch = FileChannel.open(in, StandardOpenOption.READ)) {
+                    byte[] carry = new byte[4];
+                    int carried = 0;
+                    while (true) {
+                        ByteBuffer buf = free.take();
+                        buf.clear();
+                        buf.put(carry, 0, carried);
+                        int r = 0;
+                        while (buf.hasRemaining() && (r = ch.read(buf)) >= 0) ;
+                        int n = buf.position();
+                        carried = r < 0 ? 0 : incompleteTail(buf.array(), n);
+                        System.arraycopy(buf.array(), n - carried, carry, 0, carried);
+                        buf.flip().limit(n - carried);
+                        read.put(buf);
+                        if (r < 0) break;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CompletionException(e);
+                } finally {
+                    read.add(END);
+                }
+            }, executor);
+
+            CompletableFuture<Void> filter = CompletableFuture.runAsync(() -> {
+                try {
+                    for (ByteBuffer buf = read.take(); buf != END; buf = read.take()) {
+                        filter(buf);
+                        filtered.put(buf);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CompletionException(e);
+                } finally {
+                    filtered.add(END);
+                }
+            }, executor);
+
+            CompletableFuture<Long> writer = CompletableFuture.supplyAsync(() -> {
+                long written = 0;
+                IOException error = null;
+                FileChannel ch = null;
+                try {
+                    ch = FileChannel.open(out, StandardOpenOption.CREATE,
+                            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                } catch (IOException e) {
+                    error = e;
+                }
+                try {
+                    for (ByteBuffer buf = filtered.take(); buf != END; buf = filtered.take()) {
+                        // після помилки відкриття чи запису черга все одно вичерпується,
+                        // щоб читач не заблокувався на free.take()
+                        if (error == null) {
+                            try {
+                                while (buf.hasRemaining()) written += ch.write(buf);
+                            } catch (IOException e) {
+                                error = e;
+                            }
+                        }
+                        free.put(buf);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CompletionException(e);
+                } finally {
+                    if (ch != null) {
+                        try {
+                            ch.close();
+                        } catch (IOException e) {
+                            if (error == null) error = e;
+                        }
+                    }
+                }
+                if (error != null) throw new UncheckedIOException(error);
+                return written;
+            }, executor);
+
+            return CompletableFuture.allOf(reader, filter, writer).thenApply(v -> writer.join());
+        }
+    }
+
+    // Читання і запис через AsynchronousFileChannel: обробники завершення переводяться у
+    // CompletableFuture, буфери беруться з пулу прямих ByteBuffer. Обробники виконуються на
+    // переданому пулі каналу, а не на commonPool.
+    static final class AsyncIo {
+        static final int BUFFER_SIZE = 64 << 10;
+
+        static final class BufferPool {
+            private final ConcurrentLinkedQueue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+            private final int maxPooled;
+
+            BufferPool(int maxPooled) {
+                this.maxPooled = maxPooled;
+            }
+
+            ByteBuffer acquire() {
+                ByteBuffer b = free.poll();
+                return b != null ? b : ByteBuffer.allocateDirect(BUFFER_SIZE);
+            }
+
+            void release(ByteBuffer b) {
+                b.clear();
+                if (free.size() < maxPooled) free.offer(b);
+            }
+        }
+
+        private final ExecutorService handlers;
+        private final BufferPool pool;
+
+        AsyncIo(ExecutorService handlers, BufferPool pool) {
+            this.handlers = handlers;
+            this.pool = pool;
+        }
+
+        // Найбільший масив, який JVM гарантовано виділить
+        private static final int MAX_ARRAY = Integer.MAX_VALUE - 8;
+
+        CompletableFuture<byte[]> readAllBytes(Path path) {
+            AsynchronousFileChannel ch;
+            try {
+                ch = AsynchronousFileChannel.open(path, Set.of(StandardOpenOption.READ), handlers);
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            long size;
+            try {
+                size = ch.size();
+            } catch (IOException e) {
+                closeQuietly(ch);
+                return CompletableFuture.failedFuture(e);
+            }
+            if (size > MAX_ARRAY) {
+                closeQuietly(ch);
+                return CompletableFuture.failedFuture(tooLarge(path, size));
+            }
+            ByteBuffer buf = pool.acquire();
+            CompletableFuture<byte[]> result = new CompletableFuture<>();
+            readLoop(ch, buf, new byte[(int) size], 0, result);
+            return result.whenComplete((r, e) -> {
+                pool.release(buf);
+                closeQuietly(ch);
+            });
+        }
+
+        private void readLoop(AsynchronousFileChannel ch, ByteBuffer buf, byte[] data, int pos,
+                              CompletableFuture<byte[]> result) {
+            buf.clear();
+            try {
+                ch.read(buf, pos, null, new CompletionHandler<Integer, Void>() {
+                    @Override
+                    public void completed(Integer n, Void att) {
+                        if (n < 0) {
+                            result.complete(pos == data.length ? data : Arrays.copyOf(data, pos));
+                            return;
+                        }
+                        // файл міг вирости після ch.size()
+                        if ((long) pos + n > MAX_ARRAY) {
+                            result.completeExceptionally(tooLarge(null, (long) pos + n));
+                            return;
+                        }
+                        byte[] d = pos + n > data.length
+                                ? Arrays.copyOf(data, (int) Math.max(pos + n, Math.min(MAX_ARRAY, data.length * 2L)))
+                                : data;
+                        buf.flip().get(d, pos, n);
+                        readLoop(ch, buf, d, pos + n, result);
+                    }
+
+                    @Override
+                    public void failed(Throwable e, Void att) {
+                        result.completeExceptionally(e);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // канал закрито або пул обробників зупинено — read кидає одразу, без виклику failed
+                result.completeExceptionally(e);
+            }
+        }
+
+        private static IOException tooLarge(Path path, long size) {
+            return new IOException("Файл " + (path != null ? path + " " : "") + "завеликий для масиву: "
+                    + size + " байт");
+        }
+
+        CompletableFuture<Void> write(Path path, byte[] data) {
+            AsynchronousFileChannel ch;
+            try {
+                ch = AsynchronousFileChannel.open(path, Set.of(StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), handlers);
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            ByteBuffer buf = pool.acquire();
+            CompletableFuture<Void> result = new CompletableFuture<>();
+            writeLoop(ch, buf, data, 0, result);
+            return result.whenComplete((r, e) -> {
+                pool.release(buf);
+                closeQuietly(ch);
+            });
+        }
+
+        private void writeLoop(AsynchronousFileChannel ch, ByteBuffer buf, byte[] data, int pos,
+                               CompletableFuture<Void> result) {
+            if (pos >= data.length) {
+                result.complete(null);
+                return;
+            }
+            buf.clear();
+            int n = Math.min(buf.capacity(), data.length - pos);
+            buf.put(data, pos, n).flip();
+            writeChunk(ch, buf, data, pos, pos + n, result);
+        }
+
+        private void writeChunk(AsynchronousFileChannel ch, ByteBuffer buf, byte[] data, long filePos, int next,
+                                CompletableFuture<Void> result) {
+            try {
+                ch.write(buf, filePos, null, new CompletionHandler<Integer, Void>() {
+                    @Override
+                    public void completed(Integer n, Void att) {
+                        if (buf.hasRemaining()) writeChunk(ch, buf, data, filePos + n, next, result);
+                        else writeLoop(ch, buf, data, next, result);
+                    }
+
+                    @Override
+                    public void failed(Throwable e, Void att) {
+                        result.completeExceptionally(e);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // як у readLoop: буфер і канал звільняє whenComplete у write()
+                result.completeExceptionally(e);
+            }
+        }
+
+        private static void closeQuietly(AsynchronousFileChannel ch) {
+            try {
+                ch.close();
+            } catch (IOException ignored) {}
+        }
+    }
+
+    public static void main(String[] args) {
+        ExecutorService cpu = AsyncPipeline.cpuPool();
+        ExecutorService io = AsyncPipeline.ioPool(2);
+
+        AsyncPipeline<List<Path>, Void> pipeline = AsyncPipeline.<List<Path>>start()
+                .then("write", io, files -> {
+                    try {
+                        Files.write(files.get(0), Arrays.asList("Hello World!", "Java Future API 2025"));
+                        Files.write(files.get(1), Arrays.asList("Async Programming", "KPI Students Best"));
+                        System.out.println("Файли успішно створено.");
+                        System.out.println("--- Початок асинхронної обробки ---");
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return files;
+                })
+                .then("read", io, files -> {
+                    List<String> combinedList = new ArrayList<>();
+                    try {
+                        for (Path f : files) combinedList.addAll(Files.readAllLines(f));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    System.out.println("1. Прочитано: " + combinedList);
+                    return combinedList;
+                })
+                .then("filter", cpu, sentences -> sentences.stream()
+                        .map(s -> s.replaceAll("[a-zA-Zа-яА-ЯіІїЇєЄ]", ""))
+                        .collect(Collectors.toList()))
+                .<Void>then("print", io, result -> {
+                    System.out.println("2. Результат (залишок): " + result);
+                    return null;
+                });
+
+        pipeline.run(List.of(Paths.get("text1.txt"), Paths.get("text2.txt"))).join();
+        System.out.println("3. Всі задачі виконано успішно! Час стадій:");
+        pipeline.metrics().report(System.out);
+
+        // Кожен файл — три задачі (читання, фільтр, запис), тож потрібен пул без обмеження потоків
+        ExecutorService streaming = AsyncPipeline.virtualThreads();
+        long t1 = System.nanoTime();
+        List<CompletableFuture<Long>> jobs = new ArrayList<>();
+        for (String name : List.of("text1.txt", "text2.txt")) {
+            jobs.add(StreamingFilter.filterAsync(Paths.get(name), Paths.get(name + ".filtered"), streaming));
+        }
+        long bytes = jobs.stream().mapToLong(CompletableFuture::join).sum();
+        long t2 = System.nanoTime();
+        System.out.printf("4. Потокова фільтрація: записано %d байт за %.3f мс%n", bytes, (t2 - t1) / 1_000_000.0);
+
+        ExecutorService handlers = AsyncPipeline.ioPool(2);
+        AsyncIo aio = new AsyncIo(handlers, new AsyncIo.BufferPool(16));
+        Path out = Paths.get("text3.txt");
+        String text = "AsynchronousFileChannel 2025\nБез блокування commonPool\n";
+        List<String> lines = aio.write(out, text.getBytes(StandardCharsets.UTF_8))
+                .thenCompose(v -> aio.readAllBytes(out))
+                .thenApplyAsync(b -> new String(b, StandardCharsets.UTF_8).lines()
+                        .map(l -> l.replaceAll("[a-zA-Zа-яА-ЯіІїЇєЄ]", ""))
+                        .collect(Collectors.toList()), cpu)
+                .join();
+        System.out.println("5. AsynchronousFileChannel, результат: " + lines);
+
+        handlers.shutdown();
+        streaming.shutdown();
+        cpu.shutdown();
+        io.shutdown();
+    }
+}
@@ -0,0 +1,218 @@
+package lab;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Асинхронний журнал: виклик log() лише кладе рядок і мітку часу з кешованого годинника в обмежену
+// MPSC-чергу без блокувань (слоти з номерами послідовностей, CAS на хвості). Один фоновий потік
+// забирає записи пачками, форматує "[HH:MM:SS] " (рядок часу перераховується раз на секунду),
+// кодує в UTF-8 у багаторазовий буфер і пише його в канал поверх поточного System.out.
+// Коли черга повна, DROP рахує і відкидає запис, BLOCK чекає на місце. Якщо записувач аварійно
+// завершився, журнал позначається зламаним і далі лише рахує відкинуті записи, щоб BLOCK не завис.
+public final class AsyncLog implements AutoCloseable {
+
+    enum Overflow { DROP, BLOCK }
+
+    private static final long RAW = Long.MIN_VALUE;
+    private static final int BATCH = 256;
+
+    private final int mask;
+    private final AtomicLongArray slotSeq;
+    private final String[] messages;
+    private final long[] stamps;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+    private final Overflow overflow;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile boolean failed;
+
+    // Кешований годинник: оновлює потік-записувач, виклик log() читає одне volatile-поле
+    private volatile long clockMillis = System.currentTimeMillis();
+
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final StringBuilder batch = new StringBuilder(8192);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final ByteBuffer out = ByteBuffer.allocate(64 * 1024);
+    private PrintStream target;
+    private WritableByteChannel channel;
+    private long stampSecond = Long.MIN_VALUE;
+    private String stampText;
+
+    AsyncLog(int capacity, Overflow overflow) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Місткість має бути степенем двійки: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.overflow = overflow;
+        this.slotSeq = new AtomicLongArray(capacity);
+        this.messages = new String[capacity];
+        this.stamps = new long[capacity];
+        for (int i = 0; i < capacity; i++) slotSeq.set(i, i);
+        this.writer = new Thread(this::drain, "AsyncLog");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private static final class Shared {
+        static final AsyncLog INSTANCE = create();
+
+        private static AsyncLog create() {
+            AsyncLog log = new AsyncLog(Integer.getInteger("log.capacity", 1 << 14),
+                    "drop".equals(System.getProperty("log.overflow")) ? Overflow.DROP : Overflow.BLOCK);
+            Runtime.getRuntime().addShutdownHook(new Thread(log::close, "AsyncLog-shutdown"));
+            return log;
+        }
+    }
+
+    // Спільний журнал демо: -Dlog.capacity=16384 -Dlog.overflow=block|drop
+    static AsyncLog shared() {
+        return Shared.INSTANCE;
+    }
+
+    // Рядок з міткою часу
+    void log(String message) {
+        offer(message, clockMillis);
+    }
+
+    // Рядок як є, без мітки часу
+    void raw(String line) {
+        offer(line, RAW);
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    private void offer(String message, long stamp) {
+        int attempt = 0;
+        while (true) {
+            if (failed) {
+                dropped.increment();
+                return;
+            }
+            long pos = tail.get();
+            int idx = (int) pos & mask;
+            long seq = slotSeq.get(idx);
+            if (seq == pos) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    messages[idx] = message;
+                    stamps[idx] = stamp;
+                    slotSeq.lazySet(idx, pos + 1);
+                    return;
+                }
+            } else if (seq < pos) {
+                if (overflow == Overflow.DROP || !running) {
+                    dropped.increment();
+                    return;
+                }
+                if (++attempt < 100) Thread.onSpinWait();
+                else LockSupport.parkNanos(10_000);
+            }
+        }
+    }
+
+    // Чекає, поки запишеться все, що було в черзі на момент виклику
+    void flush() {
+        long target = tail.get();
+        while (head < target && writer.isAlive()) LockSupport.parkNanos(100_000);
+    }
+
+    private void drain() {
+        try {
+            drainLoop();
+        } catch (RuntimeException | Error e) {
+            failed = true;
+            System.err.println("AsyncLog: записувач зупинився, подальші записи відкидаються: " + e);
+            throw e;
+        }
+    }
+
+    private void drainLoop() {
+        long pos = head;
+        while (true) {
+            clockMillis = System.currentTimeMillis();
+            int n = 0;
+            while (n < BATCH) {
+                int idx = (int) pos & mask;
+                if (slotSeq.get(idx) != pos + 1) break;
+                String message = messages[idx];
+                long stamp = stamps[idx];
+                messages[idx] = null;
+                slotSeq.lazySet(idx, pos + mask + 1);
+                pos++;
+                n++;
+                if (stamp != RAW) batch.append(stamp(stamp));
+                batch.append(message).append('\n');
+            }
+            if (n > 0) {
+                write();
+                head = pos;
+            } else if (!running) {
+                return;
+            } else {
+                LockSupport.parkNanos(1_000_000);
+            }
+        }
+    }
+
+    private String stamp(long millis) {
+        long second = Math.floorDiv(millis, 1000);
+        if (second != stampSecond) {
+            stampSecond = second;
+            stampText = "[" + LocalTime.ofInstant(Instant.ofEpochSecond(second), zone) + "] ";
+        }
+        return stampText;
+    }
+
+    // System.out може підмінятися (бенчмарки глушать вивід), тож канал перебудовується за потреби
+    private void write() {
+        if (System.out != target) {
+            target = System.out;
+            channel = Channels.newChannel(target);
+        }
+        CharBuffer chars = CharBuffer.wrap(batch);
+        encoder.reset();
+        try {
+            while (true) {
+                CoderResult r = encoder.encode(chars, out, true);
+                if (r.isUnderflow()) r = encoder.flush(out);
+                out.flip();
+                while (out.hasRemaining()) channel.write(out);
+                out.clear();
+                if (r.isUnderflow()) break;
+            }
+        } catch (IOException e) {
+            dropped.increment();
+            out.clear();
+        }
+        target.flush();
+        batch.setLength(0);
+    }
+
+    @Override
+    public void close() {
+        flush();
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
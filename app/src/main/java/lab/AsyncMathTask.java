@@ -0,0 +1,172 @@
+package lab;
+
+import java.nio.DoubleBuffer;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class AsyncMathTask {
+
+    // Компенсована сума Ноймаєра: похибка округлення накопичується окремо в c
+    static final class CompensatedSum {
+        private double sum, c;
+
+        void add(double x) {
+            double t = sum + x;
+            if (Math.abs(sum) >= Math.abs(x)) c += (sum - t) + x;
+            else c += (x - t) + sum;
+            sum = t;
+        }
+
+        void add(CompensatedSum o) {
+            add(o.sum);
+            add(o.c);
+        }
+
+        double value() {
+            return sum + c;
+        }
+    }
+
+    // Сума b[k] * b[k + 1] для k з [from, to); читає b[to], тож добуток на межі частини не губиться
+    static CompensatedSum adjacentProducts(DoubleBuffer b, int from, int to) {
+        CompensatedSum s = new CompensatedSum();
+        for (int k = from; k < to; k++) s.add(b.get(k) * b.get(k + 1));
+        return s;
+    }
+
+    static double adjacentProductSum(double[] a, int chunks, ExecutorService executor)
+            throws InterruptedException, ExecutionException {
+        DoubleBuffer b = DoubleBuffer.wrap(a);
+        int products = Math.max(0, a.length - 1);
+        int part = Math.max(1, (products + chunks - 1) / chunks);
+        List<Future<CompensatedSum>> parts = new ArrayList<>();
+        for (int start = 0; start < products; start += part) {
+            int from = start;
+            int to = Math.min(products, start + part);
+            parts.add(executor.submit(() -> adjacentProducts(b, from, to)));
+        }
+        CompensatedSum total = new CompensatedSum();
+        for (Future<CompensatedSum> f : parts) total.add(f.get());
+        return total.value();
+    }
+
+    // Послідовність надходить блоками, тож у пам'яті не більше maxInFlight блоків одночасно.
+    // Добуток останнього елемента блоку на перший елемент наступного рахується при надходженні.
+    static final class StreamingAdjacentSum {
+        private final ExecutorService executor;
+        private final Semaphore inFlight;
+        private final int maxInFlight;
+        private final CompensatedSum total = new CompensatedSum();
+        private final CompensatedSum boundary = new CompensatedSum();
+        private Throwable error;
+        private double prev;
+        private boolean hasPrev;
+
+        StreamingAdjacentSum(ExecutorService executor, int maxInFlight) {
+            this.executor = executor;
+            this.maxInFlight = maxInFlight;
+            this.inFlight = new Semaphore(maxInFlight);
+        }
+
+        // Блок переходить у власність обчислення: викликач не повинен змінювати його далі
+        void accept(DoubleBuffer block) throws InterruptedException {
+            int from = block.position(), last = block.limit() - 1;
+            if (last < from) return;
+            if (hasPrev) boundary.add(prev * block.get(from));
+            prev = block.get(last);
+            hasPrev = true;
+            inFlight.acquire();
+            CompletableFuture.supplyAsync(() -> adjacentProducts(block, from, last), executor)
+                    .whenComplete((r, e) -> {
+                        synchronized (total) {
+                            if (e != null && error == null) error = e;
+                            else if (r != null) total.add(r);
+                        }
+                        inFlight.release();
+                    });
+        }
+
+        double finish() throws InterruptedException, ExecutionException {
+            inFlight.acquire(maxInFlight);
+            inFlight.release(maxInFlight);
+            synchronized (total) {
+                if (error != null) throw new ExecutionException(error);
+                CompensatedSum s = new CompensatedSum();
+                s.add(total);
+                s.add(boundary);
+                return s.value();
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        
+        System.out.println("--- Початок Завдання 2: Математика ---");
+        
+        ExecutorService cpu = AsyncPipeline.cpuPool();
+        ExecutorService io = AsyncPipeline.ioPool(1);
+
+        AsyncPipeline<Integer, Void> pipeline = AsyncPipeline.<Integer>start()
+                .then("generate", cpu, count -> {
+                    Random rand = new Random();
+                    List<Double> numbers = new ArrayList<>();
+                    for (int i = 0; i < count; i++) {
+                        numbers.add(rand.nextDouble() * 100);
+                    }
+
+                    System.out.println("1. Згенерована послідовність: " + numbers);
+                    return numbers;
+                })
+                .then("calculate", cpu, numbers -> {
+                    double sum = 0;
+
+                    for (int i = 0; i < numbers.size() - 1; i++) {
+                        sum += numbers.get(i) * numbers.get(i + 1);
+                    }
+
+                    System.out.println("2. Обчислення за формулою виконано.");
+                    return sum;
+                })
+                .<Void>then("print", io, result -> {
+                    System.out.printf("3. Фінальний результат суми добутків: %.4f%n", result);
+                    return null;
+                });
+
+        pipeline.run(20).join();
+        System.out.println("4. Час стадій асинхронних операцій:");
+        pipeline.metrics().report(System.out);
+        cpu.shutdown();
+        io.shutdown();
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            long n = 20_000_000;
+            int blockSize = 1 << 20;
+            long t1 = System.nanoTime();
+            StreamingAdjacentSum stream = new StreamingAdjacentSum(pool, 2 * threads);
+            SplittableRandom r = new SplittableRandom(42);
+            for (long done = 0; done < n; done += blockSize) {
+                double[] block = new double[(int) Math.min(blockSize, n - done)];
+                for (int i = 0; i < block.length; i++) block[i] = r.nextDouble() * 100;
+                stream.accept(DoubleBuffer.wrap(block));
+            }
+            double streamed = stream.finish();
+            long t2 = System.nanoTime();
+
+            r = new SplittableRandom(42);
+            double naive = 0, prev = r.nextDouble() * 100;
+            for (long i = 1; i < n; i++) {
+                double x = r.nextDouble() * 100;
+                naive += prev * x;
+                prev = x;
+            }
+            System.out.printf("5. Потокова паралельна сума для %d чисел: %.4f (%.3f мс), послідовна: %.4f%n",
+                    n, streamed, (t2 - t1) / 1_000_000.0, naive);
+        } catch (InterruptedException | ExecutionException e) {
+            e.printStackTrace();
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
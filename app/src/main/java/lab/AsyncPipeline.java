@@ -0,0 +1,230 @@
+package lab;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Конвеєр CompletableFuture, де кожна стадія має власний виконавець, а очікування в черзі
+// виконавця, час виконання стадії і повний час проходження пишуться в гістограми.
+// Опис конвеєра незмінний: then() повертає новий конвеєр зі спільними метриками, run() можна
+// викликати багато разів.
+public class AsyncPipeline<I, O> {
+
+    // Гістограма в стилі HDR: 16 під-кошиків на кожну степінь двійки (похибка до ~6%),
+    // лічильники в AtomicLongArray, тож запис без блокувань і без алокацій
+    static final class LatencyHistogram {
+        private static final int SUB = 16;
+        private final AtomicLongArray counts = new AtomicLongArray(SUB * 60);
+        private final LongAdder total = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+        static int index(long v) {
+            if (v < 2 * SUB) return (int) v;
+            int shift = 63 - Long.numberOfLeadingZeros(v) - 4;
+            return SUB * shift + (int) (v >>> shift);
+        }
+
+        static long upperBound(int idx) {
+            if (idx < 2 * SUB) return idx;
+            int shift = idx / SUB - 1;
+            long sub = idx - (long) SUB * shift;
+            return ((sub + 1) << shift) - 1;
+        }
+
+        void record(long nanos) {
+            if (nanos < 0) nanos = 0;
+            counts.incrementAndGet(index(nanos));
+            total.increment();
+            sum.add(nanos);
+            max.accumulate(nanos);
+        }
+
+        void add(LatencyHistogram o) {
+            for (int i = 0; i < counts.length(); i++) counts.addAndGet(i, o.counts.get(i));
+            total.add(o.total.sum());
+            sum.add(o.sum.sum());
+            max.accumulate(o.max());
+        }
+
+        long count() {
+            return total.sum();
+        }
+
+        long max() {
+            return max.get();
+        }
+
+        double mean() {
+            long n = count();
+            return n == 0 ? 0 : (double) sum.sum() / n;
+        }
+
+        long percentile(double p) {
+            long n = count();
+            if (n == 0) return 0;
+            long target = Math.max(1, (long) Math.ceil(p / 100.0 * n));
+            long seen = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                seen += counts.get(i);
+                if (seen >= target) return Math.min(upperBound(i), max());
+            }
+            return max();
+        }
+
+        // Формат percentile distribution як у HdrHistogram: значення (мкс), перцентиль, кількість
+        void writeDistribution(PrintStream out) {
+            out.printf("%12s %14s %10s%n", "Value(us)", "Percentile", "TotalCount");
+            long n = count();
+            long seen = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                long c = counts.get(i);
+                if (c == 0) continue;
+                seen += c;
+                out.printf("%12.3f %14.6f %10d%n", Math.min(upperBound(i), max()) / 1_000.0,
+                        (double) seen / n, seen);
+            }
+            out.printf("#[Mean = %.3f, Max = %.3f, Total count = %d]%n", mean() / 1_000.0, max() / 1_000.0, n);
+        }
+    }
+
+    static final class StageMetrics {
+        final LatencyHistogram queueWait = new LatencyHistogram();
+        final LatencyHistogram execution = new LatencyHistogram();
+    }
+
+    static final class Metrics {
+        final Map<String, StageMetrics> stages = new ConcurrentHashMap<>();
+        final LatencyHistogram endToEnd = new LatencyHistogram();
+        private final List<String> order = new CopyOnWriteArrayList<>();
+
+        StageMetrics stage(String name) {
+            return stages.computeIfAbsent(name, n -> {
+                order.add(n);
+                return new StageMetrics();
+            });
+        }
+
+        void report(PrintStream out) {
+            out.printf("%-16s %-10s %8s %10s %10s %10s %10s%n", "stage", "metric", "count", "p50 us", "p90 us",
+                    "p99 us", "max us");
+            for (String name : order) {
+                StageMetrics m = stages.get(name);
+                row(out, name, "queue", m.queueWait);
+                row(out, name, "exec", m.execution);
+            }
+            row(out, "end-to-end", "total", endToEnd);
+        }
+
+        private static void row(PrintStream out, String stage, String metric, LatencyHistogram h) {
+            out.printf("%-16s %-10s %8d %10.1f %10.1f %10.1f %10.1f%n", stage, metric, h.count(),
+                    h.percentile(50) / 1_000.0, h.percentile(90) / 1_000.0, h.percentile(99) / 1_000.0,
+                    h.max() / 1_000.0);
+        }
+    }
+
+    private static final class Stage {
+        final String name;
+        final Executor executor;
+        final Function<Object, Object> fn;
+
+        Stage(String name, Executor executor, Function<Object, Object> fn) {
+            this.name = name;
+            this.executor = executor;
+            this.fn = fn;
+        }
+    }
+
+    private final List<Stage> stages;
+    private final Metrics metrics;
+
+    private AsyncPipeline(List<Stage> stages, Metrics metrics) {
+        this.stages = stages;
+        this.metrics = metrics;
+    }
+
+    static <I> AsyncPipeline<I, I> start() {
+        return new AsyncPipeline<>(List.of(), new Metrics());
+    }
+
+    @SuppressWarnings("unchecked")
+    <R> AsyncPipeline<I, R> then(String name, Executor executor, Function<? super O, ? extends R> fn) {
+        List<Stage> next = new ArrayList<>(stages);
+        next.add(new Stage(name, executor, (Function<Object, Object>) fn));
+        metrics.stage(name);
+        return new AsyncPipeline<>(List.copyOf(next), metrics);
+    }
+
+    Metrics metrics() {
+        return metrics;
+    }
+
+    @SuppressWarnings("unchecked")
+    CompletableFuture<O> run(I input) {
+        long started = System.nanoTime();
+        CompletableFuture<Object> f = CompletableFuture.completedFuture(input);
+        for (Stage s : stages) {
+            StageMetrics m = metrics.stage(s.name);
+            f = f.thenApplyAsync(x -> {
+                long t = System.nanoTime();
+                try {
+                    return s.fn.apply(x);
+                } finally {
+                    m.execution.record(System.nanoTime() - t);
+                }
+            }, timed(s.executor, m.queueWait));
+        }
+        return (CompletableFuture<O>) f.whenComplete((r, e) -> metrics.endToEnd.record(System.nanoTime() - started));
+    }
+
+    private static Executor timed(Executor executor, LatencyHistogram queueWait) {
+        return task -> {
+            long submitted = System.nanoTime();
+            executor.execute(() -> {
+                queueWait.record(System.nanoTime() - submitted);
+                task.run();
+            });
+        };
+    }
+
+    static ExecutorService cpuPool() {
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), named("cpu"));
+    }
+
+    static ExecutorService ioPool(int threads) {
+        return Executors.newFixedThreadPool(threads, named("io"));
+    }
+
+    // Віртуальні потоки, якщо JDK їх має (21+), інакше кешований пул
+    static ExecutorService virtualThreads() {
+        return virtualThreads(0);
+    }
+
+    // Те саме, але без віртуальних потоків — пул із fallbackThreads потоків (кешований, якщо 0):
+    // для задач, що все одно впираються в семафор такого розміру
+    static ExecutorService virtualThreads(int fallbackThreads) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return fallbackThreads > 0
+                    ? Executors.newFixedThreadPool(fallbackThreads, named("vt-fallback"))
+                    : Executors.newCachedThreadPool(named("vt-fallback"));
+        }
+    }
+
+    private static ThreadFactory named(String prefix) {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
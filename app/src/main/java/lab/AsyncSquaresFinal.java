@@ -0,0 +1,169 @@
+package lab;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+public class AsyncSquaresFinal {
+
+    // Результати передаються в onResult у порядку завершення, а не подання. Якщо timeoutMs > 0,
+    // частина, що виконується довше, переривається і потрапляє в список помилок з TimeoutException.
+    // При перериванні самого очікування всі незавершені частини скасовуються.
+    static <T> List<Throwable> collectAsCompleted(ExecutorService executor, List<? extends Callable<T>> tasks,
+                                                  long timeoutMs, Consumer<T> onResult) throws InterruptedException {
+        CompletionService<T> cs = new ExecutorCompletionService<>(executor);
+        // потік таймера лише коли таймаут справді потрібен: без нього виклик не платить за створення потоку
+        ScheduledExecutorService timer = timeoutMs <= 0 ? null : Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "chunk-timeout");
+            t.setDaemon(true);
+            return t;
+        });
+        List<Future<T>> futures = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        try {
+            for (Callable<T> task : tasks) {
+                futures.add(cs.submit(timeoutMs > 0 ? withTimeout(task, timeoutMs, timer) : task));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                Future<T> f = cs.take();
+                try {
+                    onResult.accept(f.get());
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                } catch (CancellationException e) {
+                    failures.add(e);
+                }
+            }
+            return failures;
+        } finally {
+            for (Future<T> f : futures) f.cancel(true);
+            if (timer != null) timer.shutdownNow();
+        }
+    }
+
+    // Відлік таймауту починається, коли частина реально стартувала, а не коли стала в чергу
+    private static <T> Callable<T> withTimeout(Callable<T> task, long timeoutMs, ScheduledExecutorService timer) {
+        return () -> {
+            Thread worker = Thread.currentThread();
+            boolean[] timedOut = new boolean[1];
+            boolean[] finished = new boolean[1];
+            ScheduledFuture<?> deadline = timer.schedule(() -> {
+                synchronized (timedOut) {
+                    if (!finished[0]) {
+                        timedOut[0] = true;
+                        worker.interrupt();
+                    }
+                }
+            }, timeoutMs, TimeUnit.MILLISECONDS);
+            try {
+                return task.call();
+            } catch (InterruptedException e) {
+                synchronized (timedOut) {
+                    if (timedOut[0]) throw new TimeoutException("Частина не вклалась у " + timeoutMs + " мс");
+                }
+                throw e;
+            } finally {
+                deadline.cancel(false);
+                synchronized (timedOut) {
+                    finished[0] = true;
+                    // переривання від таймера не повинне дістатись наступній задачі цього потоку
+                    if (timedOut[0]) Thread.interrupted();
+                }
+            }
+        };
+    }
+
+    static double[] squaresPrimitive(double[] input, int chunks, ExecutorService executor)
+            throws InterruptedException, ExecutionException {
+        if (chunks <= 0) {
+            throw new IllegalArgumentException("Кількість частин має бути більше 0: " + chunks);
+        }
+        DoubleSetCollector collector = new DoubleSetCollector();
+        List<SquareChunkTask> tasks = new ArrayList<>();
+        int chunkSize = (int) Math.ceil((double) input.length / chunks);
+        for (int start = 0; start < input.length; start += chunkSize) {
+            tasks.add(new SquareChunkTask(input, start, Math.min(start + chunkSize, input.length)));
+        }
+        List<Throwable> failures = collectAsCompleted(executor, tasks, 0, collector::add);
+        if (!failures.isEmpty()) throw new ExecutionException(failures.get(0));
+        return collector.toArray();
+    }
+
+    public static void main(String[] args) {
+        Scanner scanner = new Scanner(System.in);
+        System.out.println("Введіть діапазон (Enter для стандартного [0.5; 99.5]):");
+        double min = 0.5;
+        System.out.print("Min: ");
+        String minStr = scanner.nextLine();
+        if (!minStr.isEmpty()) min = Double.parseDouble(minStr);
+        double max = 99.5;
+        System.out.print("Max: ");
+        String maxStr = scanner.nextLine();
+        if (!maxStr.isEmpty()) max = Double.parseDouble(maxStr);
+
+        int threadsCount = 4;
+        System.out.print("Кількість частин (Enter для " + threadsCount + "): ");
+        String chunksStr = scanner.nextLine();
+        int chunksCount = chunksStr.isEmpty() ? threadsCount : Integer.parseInt(chunksStr);
+        System.out.print("Таймаут частини, мс (Enter - без обмеження): ");
+        String timeoutStr = scanner.nextLine();
+        long timeoutMs = timeoutStr.isEmpty() ? 0 : Long.parseLong(timeoutStr);
+
+        long startTime = System.currentTimeMillis();
+        int size = 40 + (int)(Math.random() * 21);
+        List<Double> inputList = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            inputList.add(min + (max - min) * Math.random());
+        }
+        System.out.println("\nЗгенеровано елементів: " + size);
+
+        CopyOnWriteArraySet<Double> resultSet = new CopyOnWriteArraySet<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threadsCount);
+        List<SquareTask> tasks = new ArrayList<>();
+        int chunkSize = (int) Math.ceil((double) size / chunksCount);
+
+        for (int i = 0; i < chunksCount; i++) {
+            int start = i * chunkSize;
+            int end = Math.min(start + chunkSize, size);
+            if (start < end) {
+                tasks.add(new SquareTask(inputList.subList(start, end), i + 1));
+            }
+        }
+
+        System.out.println("Очікування завершення потоків...");
+
+        try {
+            List<Throwable> failures = collectAsCompleted(executor, tasks, timeoutMs,
+                    result -> resultSet.addAll(Arrays.asList(result)));
+            for (Throwable t : failures) System.out.println("Частину пропущено: " + t);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        executor.shutdown();
+        long endTime = System.currentTimeMillis();
+
+        System.out.println("\n--- Результати (Квадрати) ---");
+        System.out.println(resultSet);
+        System.out.println("Всього значень: " + resultSet.size());
+        System.out.println("\nЧас обчислень: " + (endTime - startTime) + " мс");
+
+        double[] input = inputList.stream().mapToDouble(Double::doubleValue).toArray();
+        ExecutorService primitiveExecutor = Executors.newFixedThreadPool(threadsCount);
+        long t1 = System.nanoTime();
+        try {
+            double[] unique = squaresPrimitive(input, chunksCount, primitiveExecutor);
+            long t2 = System.nanoTime();
+            System.out.println("\n--- Примітивний конвеєр double[] ---");
+            System.out.println("Всього значень: " + unique.length);
+            System.out.printf("Час обчислень: %.3f мс%n", (t2 - t1) / 1_000_000.0);
+        } catch (InterruptedException | ExecutionException e) {
+            e.printStackTrace();
+        } finally {
+            primitiveExecutor.shutdown();
+        }
+    }
+}
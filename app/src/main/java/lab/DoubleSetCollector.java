@@ -0,0 +1,56 @@
+package lab;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Збирає відсортовані унікальні частини від потоків і зливає їх без упаковки в Double.
+// Рівність як у Double.equals (за бітами), тож результат той самий, що й у CopyOnWriteArraySet.
+class DoubleSetCollector {
+    private final ConcurrentLinkedQueue<double[]> parts = new ConcurrentLinkedQueue<>();
+
+    static double[] sortedUnique(double[] a) {
+        Arrays.sort(a);
+        int n = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (n == 0 || Double.doubleToLongBits(a[i]) != Double.doubleToLongBits(a[n - 1])) a[n++] = a[i];
+        }
+        return n == a.length ? a : Arrays.copyOf(a, n);
+    }
+
+    static double[] merge(double[] a, double[] b) {
+        double[] r = new double[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            int c = Double.compare(a[i], b[j]);
+            if (c < 0) r[n++] = a[i++];
+            else if (c > 0) r[n++] = b[j++];
+            else {
+                r[n++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) r[n++] = a[i++];
+        while (j < b.length) r[n++] = b[j++];
+        return n == r.length ? r : Arrays.copyOf(r, n);
+    }
+
+    // part має бути відсортованим і без дублікатів (результат sortedUnique)
+    public void add(double[] part) {
+        parts.add(part);
+    }
+
+    // Попарне злиття: кожен елемент копіюється log2(кількості частин) разів
+    public double[] toArray() {
+        List<double[]> level = new ArrayList<>(parts);
+        if (level.isEmpty()) return new double[0];
+        while (level.size() > 1) {
+            List<double[]> next = new ArrayList<>();
+            for (int i = 0; i + 1 < level.size(); i += 2) next.add(merge(level.get(i), level.get(i + 1)));
+            if (level.size() % 2 == 1) next.add(level.get(level.size() - 1));
+            level = next;
+        }
+        return level.get(0);
+    }
+}
@@ -0,0 +1,269 @@
+package lab;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Scanner;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+// Пошук файлів-дублікатів у три етапи, кожен лише для груп, де лишилось більше одного кандидата:
+// 1) розмір — ForkJoin-обхід як у FileStealTask, один stat на запис, жорсткі посилання на той самий
+//    файл рахуються один раз; 2) SHA-256 першого і останнього блоків; 3) SHA-256 усього вмісту.
+// Файли до двох блоків повністю хешуються вже на другому етапі. Читання йдуть паралельно через
+// FileChannel у прямі буфери з пулу, а розмір пулу обмежує кількість одночасних читань.
+public class DuplicateFinder {
+
+    static final int EDGE_BLOCK = 16 * 1024;
+    static final int BUFFER_SIZE = 256 * 1024;
+
+    static final class FileRef {
+        final Path path;
+        final long size;
+
+        FileRef(Path path, long size) {
+            this.path = path;
+            this.size = size;
+        }
+    }
+
+    static final class Report {
+        final List<List<FileRef>> groups = new ArrayList<>();
+        long files, sizeCandidates, edgeHashed, fullyHashed, bytesRead, links, errors;
+
+        // Байти, які звільнились би, якщо лишити по одній копії
+        long wastedBytes() {
+            long w = 0;
+            for (List<FileRef> g : groups) w += (g.size() - 1) * g.get(0).size;
+            return w;
+        }
+    }
+
+    private final long minSize;
+    private final BlockingQueue<ByteBuffer> buffers;
+    private final ExecutorService exec;
+    private final ConcurrentHashMap<Object, Boolean> seenKeys = new ConcurrentHashMap<>();
+    private final LongAdder files = new LongAdder();
+    private final LongAdder links = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+
+    private DuplicateFinder(long minSize, int maxConcurrentIo, ExecutorService exec) {
+        this.minSize = minSize;
+        this.exec = exec;
+        this.buffers = new ArrayBlockingQueue<>(maxConcurrentIo);
+        for (int i = 0; i < maxConcurrentIo; i++) buffers.add(ByteBuffer.allocateDirect(BUFFER_SIZE));
+    }
+
+    static Report find(Path root, long minSize, int parallelism, int maxConcurrentIo)
+            throws InterruptedException, ExecutionException {
+        ExecutorService exec = AsyncPipeline.virtualThreads(maxConcurrentIo);
+        ForkJoinPool fj = new ForkJoinPool(parallelism);
+        try {
+            DuplicateFinder f = new DuplicateFinder(minSize, maxConcurrentIo, exec);
+            ConcurrentHashMap<Object, Queue<FileRef>> bySize = new ConcurrentHashMap<>();
+            fj.invoke(f.new CollectTask(root, bySize));
+
+            Report r = new Report();
+            List<Queue<FileRef>> candidates = multiples(bySize);
+            for (Queue<FileRef> g : candidates) r.sizeCandidates += g.size();
+            r.edgeHashed = r.sizeCandidates;
+
+            List<Queue<FileRef>> large = new ArrayList<>();
+            for (Queue<FileRef> g : multiples(f.regroup(candidates, f::edgeHash))) {
+                // до двох блоків хеш країв уже покриває весь файл
+                if (g.peek().size <= 2L * EDGE_BLOCK) r.groups.add(new ArrayList<>(g));
+                else large.add(g);
+            }
+            for (Queue<FileRef> g : large) r.fullyHashed += g.size();
+            for (Queue<FileRef> g : multiples(f.regroup(large, f::fullHash))) r.groups.add(new ArrayList<>(g));
+
+            r.groups.sort(Comparator.comparingLong((List<FileRef> g) -> (g.size() - 1) * g.get(0).size).reversed());
+            r.files = f.files.sum();
+            r.links = f.links.sum();
+            r.errors = f.errors.sum();
+            r.bytesRead = f.bytesRead.sum();
+            return r;
+        } finally {
+            fj.shutdown();
+            exec.shutdownNow();
+        }
+    }
+
+    private static List<Queue<FileRef>> multiples(Map<Object, Queue<FileRef>> groups) {
+        List<Queue<FileRef>> out = new ArrayList<>();
+        for (Queue<FileRef> g : groups.values()) if (g.size() > 1) out.add(g);
+        return out;
+    }
+
+    private interface Hasher {
+        ByteBuffer hash(FileRef f, ByteBuffer buf) throws IOException;
+    }
+
+    // Хешує кожен файл груп паралельно; новий ключ — розмір плюс хеш, тож групи не змішуються
+    private Map<Object, Queue<FileRef>> regroup(List<Queue<FileRef>> groups, Hasher hasher)
+            throws InterruptedException, ExecutionException {
+        ConcurrentHashMap<Object, Queue<FileRef>> out = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> jobs = new ArrayList<>();
+        for (Queue<FileRef> g : groups) {
+            for (FileRef f : g) {
+                jobs.add(CompletableFuture.runAsync(() -> {
+                    ByteBuffer buf;
+                    try {
+                        buf = buffers.take();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new CompletionException(e);
+                    }
+                    try {
+                        ByteBuffer key = hasher.hash(f, buf);
+                        out.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>()).add(f);
+                    } catch (IOException e) {
+                        errors.increment();
+                    } finally {
+                        buffers.add(buf);
+                    }
+                }, exec));
+            }
+        }
+        CompletableFuture.allOf(jobs.toArray(new CompletableFuture<?>[0])).get();
+        return out;
+    }
+
+    private static MessageDigest sha256(long size) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            for (int i = 56; i >= 0; i -= 8) md.update((byte) (size >>> i));
+            return md;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long readAt(FileChannel ch, ByteBuffer buf, long pos, int len, MessageDigest md) throws IOException {
+        buf.clear().limit(Math.min(len, buf.capacity()));
+        long read = 0;
+        while (buf.hasRemaining()) {
+            int n = ch.read(buf, pos + read);
+            if (n < 0) break;
+            read += n;
+        }
+        buf.flip();
+        md.update(buf);
+        bytesRead.add(read);
+        return read;
+    }
+
+    private ByteBuffer edgeHash(FileRef f, ByteBuffer buf) throws IOException {
+        MessageDigest md = sha256(f.size);
+        try (FileChannel ch = FileChannel.open(f.path, StandardOpenOption.READ)) {
+            if (f.size <= 2L * EDGE_BLOCK) {
+                readAt(ch, buf, 0, (int) f.size, md);
+            } else {
+                readAt(ch, buf, 0, EDGE_BLOCK, md);
+                readAt(ch, buf, f.size - EDGE_BLOCK, EDGE_BLOCK, md);
+            }
+        }
+        return ByteBuffer.wrap(md.digest());
+    }
+
+    private ByteBuffer fullHash(FileRef f, ByteBuffer buf) throws IOException {
+        MessageDigest md = sha256(f.size);
+        try (FileChannel ch = FileChannel.open(f.path, StandardOpenOption.READ)) {
+            long pos = 0;
+            while (pos < f.size) {
+                long n = readAt(ch, buf, pos, BUFFER_SIZE, md);
+                if (n == 0) break;
+                pos += n;
+            }
+        }
+        return ByteBuffer.wrap(md.digest());
+    }
+
+    // Обхід як у FileStealTask: задача на каталог, файли групуються за розміром
+    private class CollectTask extends RecursiveAction {
+        private final Path dir;
+        private final ConcurrentHashMap<Object, Queue<FileRef>> bySize;
+
+        CollectTask(Path dir, ConcurrentHashMap<Object, Queue<FileRef>> bySize) {
+            this.dir = dir;
+            this.bySize = bySize;
+        }
+
+        @Override
+        protected void compute() {
+            var subs = new ArrayList<CollectTask>();
+            try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir)) {
+                for (Path p : ds) {
+                    try {
+                        BasicFileAttributes a = FileSearchApp.attributes(ds, p);
+                        if (a.isDirectory()) {
+                            CollectTask t = new CollectTask(p, bySize);
+                            t.fork();
+                            subs.add(t);
+                        } else if (a.isRegularFile()) {
+                            files.increment();
+                            if (a.size() <= minSize || a.size() == 0) continue;
+                            Object key = a.fileKey();
+                            if (key != null && seenKeys.putIfAbsent(key, Boolean.TRUE) != null) {
+                                links.increment();
+                                continue;
+                            }
+                            bySize.computeIfAbsent(a.size(), s -> new ConcurrentLinkedQueue<>())
+                                    .add(new FileRef(p, a.size()));
+                        }
+                    } catch (IOException e) {
+                        errors.increment();
+                    }
+                }
+            } catch (IOException | DirectoryIteratorException e) {
+                errors.increment();
+            }
+            for (var t : subs) t.join();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Scanner sc = new Scanner(System.in);
+
+        System.out.print("Шлях до директорії: ");
+        Path root = Paths.get(sc.nextLine().trim());
+        System.out.print("Мін розмір (байт): ");
+        long minSize = sc.nextLong();
+
+        if (!Files.isDirectory(root)) {
+            System.out.println("Це не директорія.");
+            return;
+        }
+
+        int io = Integer.getInteger("filesearch.io", 16);
+        long t1 = System.nanoTime();
+        Report r = find(root, minSize, Runtime.getRuntime().availableProcessors(), io);
+        long t2 = System.nanoTime();
+
+        System.out.println("\nФайлів: " + r.files + ", кандидатів за розміром: " + r.sizeCandidates
+                + ", хеш країв: " + r.edgeHashed + ", повний хеш: " + r.fullyHashed);
+        System.out.println("Прочитано байт: " + r.bytesRead + ", жорстких посилань пропущено: " + r.links
+                + ", помилок: " + r.errors);
+        System.out.println("\nГруп дублікатів: " + r.groups.size() + ", зайвих байт: " + r.wastedBytes());
+        int shown = 0;
+        for (List<FileRef> g : r.groups) {
+            if (shown++ == 20) {
+                System.out.println("... ще " + (r.groups.size() - 20) + " груп");
+                break;
+            }
+            System.out.printf("%n  %d x %d байт:%n", g.size(), g.get(0).size);
+            for (FileRef f : g) System.out.println("    " + f.path);
+        }
+        System.out.printf("Час: %.3f ms%n", (t2 - t1) / 1_000_000.0);
+    }
+}
@@ -0,0 +1,345 @@
+package lab;
+
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Збережений на диску індекс: каталог -> (mtime, підкаталоги, розміри файлів).
+// Повторний обхід читає лише атрибути каталогів і перечитує вміст тих, чий mtime змінився.
+// mtime каталогу змінюється при створенні/видаленні/перейменуванні записів, але не при
+// перезаписі файлу на місці — такі зміни ловить WatchService, поки індекс стежить за деревом.
+public class FileIndex implements Closeable {
+
+    private static final int MAGIC = 0x46494458;
+    // Каталоги, змінені в межах цього вікна до сканування, перечитуються наступного разу
+    private static final long RACY_MICROS = 2_000_000;
+
+    static final class DirEntry {
+        final long mtime;
+        final String[] subdirs;
+        final String[] fileNames;
+        final long[] fileSizes;
+
+        DirEntry(long mtime, String[] subdirs, String[] fileNames, long[] fileSizes) {
+            this.mtime = mtime;
+            this.subdirs = subdirs;
+            this.fileNames = fileNames;
+            this.fileSizes = fileSizes;
+        }
+    }
+
+    private final Path root;
+    private final Map<Path, DirEntry> dirs = new ConcurrentHashMap<>();
+    private final LongAdder rescanned = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicLong version = new AtomicLong();
+    private volatile SortedSizes sortedSizes;
+
+    // Відсортовані розміри разом із версією індексу, з якої їх побудовано
+    private static final class SortedSizes {
+        final long version;
+        final long[] sizes;
+
+        SortedSizes(long version, long[] sizes) {
+            this.version = version;
+            this.sizes = sizes;
+        }
+    }
+
+    // пишеться в startWatching, читається з ForkJoin-задач оновлення і з close()
+    private volatile WatchService watcher;
+    private final Map<WatchKey, Path> watchKeys = new ConcurrentHashMap<>();
+    private final Set<Path> watched = ConcurrentHashMap.newKeySet();
+    private volatile Thread watchThread;
+
+    FileIndex(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    static FileIndex load(Path indexFile, Path root) throws IOException {
+        FileIndex idx = new FileIndex(root);
+        if (!Files.exists(indexFile)) return idx;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC || !in.readUTF().equals(idx.root.toString())) return idx;
+            int n = in.readInt();
+            for (int i = 0; i < n; i++) {
+                Path dir = Paths.get(in.readUTF());
+                long mtime = in.readLong();
+                String[] subdirs = new String[in.readInt()];
+                for (int k = 0; k < subdirs.length; k++) subdirs[k] = in.readUTF();
+                int files = in.readInt();
+                String[] names = new String[files];
+                long[] sizes = new long[files];
+                for (int k = 0; k < files; k++) {
+                    names[k] = in.readUTF();
+                    sizes[k] = in.readLong();
+                }
+                idx.dirs.put(dir, new DirEntry(mtime, subdirs, names, sizes));
+            }
+        }
+        return idx;
+    }
+
+    void save(Path indexFile) throws IOException {
+        Path tmp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeUTF(root.toString());
+            List<Map.Entry<Path, DirEntry>> snapshot = new ArrayList<>(dirs.entrySet());
+            out.writeInt(snapshot.size());
+            for (var e : snapshot) {
+                DirEntry d = e.getValue();
+                out.writeUTF(e.getKey().toString());
+                out.writeLong(d.mtime);
+                out.writeInt(d.subdirs.length);
+                for (String s : d.subdirs) out.writeUTF(s);
+                out.writeInt(d.fileNames.length);
+                for (int k = 0; k < d.fileNames.length; k++) {
+                    out.writeUTF(d.fileNames[k]);
+                    out.writeLong(d.fileSizes[k]);
+                }
+            }
+        }
+        Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private class RefreshTask extends RecursiveAction {
+        private final Path dir;
+        private final boolean force;
+
+        RefreshTask(Path dir, boolean force) {
+            this.dir = dir;
+            this.force = force;
+        }
+
+        @Override
+        protected void compute() {
+            BasicFileAttributes attrs;
+            try {
+                attrs = Files.readAttributes(dir, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            } catch (IOException e) {
+                removeSubtree(dir);
+                return;
+            }
+            if (!attrs.isDirectory()) {
+                removeSubtree(dir);
+                return;
+            }
+            long mtime = attrs.lastModifiedTime().to(TimeUnit.MICROSECONDS);
+            DirEntry old = dirs.get(dir);
+            DirEntry e;
+            if (!force && old != null && old.mtime == mtime) {
+                reused.increment();
+                e = old;
+            } else {
+                long now = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+                e = readDir(dir, now - mtime < RACY_MICROS ? 0 : mtime);
+                rescanned.increment();
+                dirs.put(dir, e);
+                invalidate();
+                if (old != null) {
+                    Set<String> kept = Set.of(e.subdirs);
+                    for (String s : old.subdirs) if (!kept.contains(s)) removeSubtree(dir.resolve(s));
+                }
+            }
+            if (watcher != null) register(dir);
+            List<RefreshTask> subs = new ArrayList<>();
+            for (String s : e.subdirs) subs.add(new RefreshTask(dir.resolve(s), false));
+            invokeAll(subs);
+        }
+    }
+
+    private DirEntry readDir(Path dir, long mtime) {
+        List<String> subdirs = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        long[] sizes = new long[16];
+        boolean failed = false;
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir)) {
+            for (Path p : ds) {
+                try {
+                    BasicFileAttributes a = Files.readAttributes(p, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    String name = p.getFileName().toString();
+                    if (a.isDirectory()) {
+                        subdirs.add(name);
+                    } else if (a.isRegularFile()) {
+                        if (names.size() == sizes.length) sizes = Arrays.copyOf(sizes, sizes.length * 2);
+                        sizes[names.size()] = a.size();
+                        names.add(name);
+                    }
+                } catch (IOException e) {
+                    errors.increment();
+                    failed = true;
+                }
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            errors.increment();
+            failed = true;
+        }
+        // неповний список (EMFILE, тимчасовий EACCES) не змінює mtime каталогу, тож зберігається з mtime 0,
+        // як і «гонливий», і наступного разу каталог перечитується
+        return new DirEntry(failed ? 0 : mtime, subdirs.toArray(new String[0]), names.toArray(new String[0]),
+                Arrays.copyOf(sizes, names.size()));
+    }
+
+    private void removeSubtree(Path dir) {
+        DirEntry e = dirs.remove(dir);
+        watched.remove(dir);
+        if (e == null) return;
+        invalidate();
+        for (String s : e.subdirs) removeSubtree(dir.resolve(s));
+    }
+
+    void refresh(int parallelism) {
+        ForkJoinPool fj = new ForkJoinPool(parallelism);
+        try {
+            fj.invoke(new RefreshTask(root, false));
+        } finally {
+            fj.shutdown();
+        }
+    }
+
+    private void invalidate() {
+        version.incrementAndGet();
+    }
+
+    private long[] sizes() {
+        SortedSizes cached = sortedSizes;
+        if (cached != null && cached.version == version.get()) return cached.sizes;
+        synchronized (this) {
+            long v = version.get();
+            cached = sortedSizes;
+            if (cached != null && cached.version == v) return cached.sizes;
+            int n = 0;
+            for (DirEntry e : dirs.values()) n += e.fileSizes.length;
+            long[] s = new long[n];
+            int k = 0;
+            for (DirEntry e : dirs.values()) {
+                int len = Math.min(e.fileSizes.length, n - k);
+                System.arraycopy(e.fileSizes, 0, s, k, len);
+                k += len;
+            }
+            s = Arrays.copyOf(s, k);
+            Arrays.parallelSort(s);
+            // знімок позначений версією, з якої почалась побудова: якщо індекс змінився під час
+            // побудови, читачі побачать розбіжність версій і не використають його
+            sortedSizes = new SortedSizes(v, s);
+            return s;
+        }
+    }
+
+    long countLargerThan(long minSize) {
+        long[] s = sizes();
+        int lo = 0, hi = s.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (s[mid] > minSize) hi = mid;
+            else lo = mid + 1;
+        }
+        return s.length - lo;
+    }
+
+    long fileCount() {
+        return sizes().length;
+    }
+
+    private void register(Path dir) {
+        if (!watched.add(dir)) return;
+        try {
+            WatchKey key = dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+            watchKeys.put(key, dir);
+        } catch (IOException e) {
+            watched.remove(dir);
+            errors.increment();
+        }
+    }
+
+    // Підтримує індекс актуальним: кожна подія перечитує свій каталог (ForkJoin commonPool)
+    void startWatching() throws IOException {
+        WatchService ws = root.getFileSystem().newWatchService();
+        watcher = ws;
+        for (Path dir : dirs.keySet()) register(dir);
+        Thread t = new Thread(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    WatchKey key = ws.take();
+                    Path dir = watchKeys.get(key);
+                    boolean overflow = false;
+                    for (WatchEvent<?> ev : key.pollEvents())
+                        if (ev.kind() == StandardWatchEventKinds.OVERFLOW) overflow = true;
+                    if (!key.reset()) watchKeys.remove(key);
+                    if (overflow) ForkJoinPool.commonPool().invoke(new RefreshTask(root, false));
+                    else if (dir != null) ForkJoinPool.commonPool().invoke(new RefreshTask(dir, true));
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "FileIndex-watch");
+        t.setDaemon(true);
+        watchThread = t;
+        t.start();
+    }
+
+    @Override
+    public void close() throws IOException {
+        Thread t = watchThread;
+        if (t != null) t.interrupt();
+        WatchService ws = watcher;
+        if (ws != null) ws.close();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Scanner sc = new Scanner(System.in);
+
+        System.out.print("Шлях до директорії: ");
+        Path root = Paths.get(sc.nextLine().trim());
+        System.out.print("Файл індексу: ");
+        Path indexFile = Paths.get(sc.nextLine().trim());
+        System.out.print("Мін розмір (байт): ");
+        long minSize = sc.nextLong();
+        System.out.print("Стежити за змінами (секунд, 0 - ні): ");
+        int watchSeconds = sc.nextInt();
+
+        if (!Files.isDirectory(root)) {
+            System.out.println("Це не директорія.");
+            return;
+        }
+
+        try (FileIndex idx = load(indexFile, root)) {
+            long t1 = System.nanoTime();
+            idx.refresh(Runtime.getRuntime().availableProcessors());
+            long t2 = System.nanoTime();
+            System.out.println("\nОновлення індексу:");
+            System.out.println("Перечитано каталогів: " + idx.rescanned.sum()
+                    + ", без змін: " + idx.reused.sum() + ", помилок: " + idx.errors.sum());
+            System.out.printf("Час: %.3f ms%n", (t2 - t1) / 1_000_000.0);
+            idx.save(indexFile);
+
+            idx.fileCount(); // сортування розмірів поза заміром запиту
+            t1 = System.nanoTime();
+            long count = idx.countLargerThan(minSize);
+            t2 = System.nanoTime();
+            System.out.println("\nФайлів > " + minSize + ": " + count + " з " + idx.fileCount());
+            System.out.printf("Час запиту: %.3f ms%n", (t2 - t1) / 1_000_000.0);
+
+            if (watchSeconds > 0) {
+                idx.startWatching();
+                for (int i = 0; i < watchSeconds; i++) {
+                    TimeUnit.SECONDS.sleep(1);
+                    System.out.println("Файлів > " + minSize + ": " + idx.countLargerThan(minSize));
+                }
+                idx.save(indexFile);
+            }
+        }
+    }
+}
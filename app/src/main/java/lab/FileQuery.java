@@ -0,0 +1,204 @@
+package lab;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+// Пошук файлів за розміром, glob-маскою імені і часом зміни поверх ForkJoin-обходу FileSearchApp.
+// Кожна задача веде власні лічильники, гістограму і обмежену купу top-K; вони зливаються при join,
+// тож повний список файлів ніде не зберігається.
+public class FileQuery {
+
+    static final class Match {
+        final Path path;
+        final long size;
+
+        Match(Path path, long size) {
+            this.path = path;
+            this.size = size;
+        }
+    }
+
+    static final class Result {
+        // Кошик k містить файли розміром [2^(k-1), 2^k), кошик 0 — порожні файли
+        final long[] histogram = new long[65];
+        final PriorityQueue<Match> top = new PriorityQueue<>(Comparator.comparingLong((Match m) -> m.size));
+        final int k;
+        long matched, bytes, errors;
+
+        Result(int k) {
+            this.k = k;
+        }
+
+        void add(Match m) {
+            matched++;
+            bytes += m.size;
+            histogram[64 - Long.numberOfLeadingZeros(m.size)]++;
+            offer(m);
+        }
+
+        private void offer(Match m) {
+            if (k <= 0) return;
+            if (top.size() < k) top.add(m);
+            else if (m.size > top.peek().size) {
+                top.poll();
+                top.add(m);
+            }
+        }
+
+        void merge(Result o) {
+            matched += o.matched;
+            bytes += o.bytes;
+            errors += o.errors;
+            for (int i = 0; i < histogram.length; i++) histogram[i] += o.histogram[i];
+            for (Match m : o.top) offer(m);
+        }
+
+        List<Match> largest() {
+            List<Match> l = new ArrayList<>(top);
+            l.sort(Comparator.comparingLong((Match m) -> m.size).reversed());
+            return l;
+        }
+    }
+
+    private long minSize = -1;
+    private long maxSize = Long.MAX_VALUE;
+    private PathMatcher nameMatcher;
+    private FileTime modifiedAfter;
+    private FileTime modifiedBefore;
+
+    // Розмір строго більший за minSize, як у FileStealTask
+    FileQuery minSize(long minSize) {
+        this.minSize = minSize;
+        return this;
+    }
+
+    FileQuery maxSize(long maxSize) {
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    // Маска для імені файлу, напр. "*.log" або "*.{jpg,png}"
+    FileQuery glob(String glob) {
+        this.nameMatcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        return this;
+    }
+
+    FileQuery modifiedAfter(Instant t) {
+        this.modifiedAfter = FileTime.from(t);
+        return this;
+    }
+
+    FileQuery modifiedBefore(Instant t) {
+        this.modifiedBefore = FileTime.from(t);
+        return this;
+    }
+
+    boolean test(Path p, BasicFileAttributes a) {
+        long size = a.size();
+        if (size <= minSize || size > maxSize) return false;
+        if (modifiedAfter != null && a.lastModifiedTime().compareTo(modifiedAfter) < 0) return false;
+        if (modifiedBefore != null && a.lastModifiedTime().compareTo(modifiedBefore) >= 0) return false;
+        return nameMatcher == null || nameMatcher.matches(p.getFileName());
+    }
+
+    // sink (може бути null) викликається з робочих потоків паралельно для кожного збігу
+    Result search(Path root, int parallelism, int topK, Consumer<Match> sink) {
+        ForkJoinPool fj = new ForkJoinPool(parallelism);
+        try {
+            return fj.invoke(new SearchTask(root, topK, sink));
+        } finally {
+            fj.shutdown();
+        }
+    }
+
+    private class SearchTask extends RecursiveTask<Result> {
+        private final Path dir;
+        private final int topK;
+        private final Consumer<Match> sink;
+
+        SearchTask(Path dir, int topK, Consumer<Match> sink) {
+            this.dir = dir;
+            this.topK = topK;
+            this.sink = sink;
+        }
+
+        @Override
+        protected Result compute() {
+            Result r = new Result(topK);
+            var subs = new ArrayList<SearchTask>();
+            try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir)) {
+                for (Path p : ds) {
+                    try {
+                        BasicFileAttributes a = FileSearchApp.attributes(ds, p);
+                        if (a.isDirectory()) {
+                            SearchTask t = new SearchTask(p, topK, sink);
+                            t.fork();
+                            subs.add(t);
+                        } else if (a.isRegularFile() && test(p, a)) {
+                            Match m = new Match(p, a.size());
+                            r.add(m);
+                            if (sink != null) sink.accept(m);
+                        }
+                    } catch (IOException e) {
+                        r.errors++;
+                    }
+                }
+            } catch (IOException | DirectoryIteratorException e) {
+                r.errors++;
+            }
+            for (var t : subs) r.merge(t.join());
+            return r;
+        }
+    }
+
+    public static void main(String[] args) {
+        Scanner sc = new Scanner(System.in);
+
+        System.out.print("Шлях до директорії: ");
+        Path root = Paths.get(sc.nextLine().trim());
+        System.out.print("Маска імені (Enter - всі файли): ");
+        String glob = sc.nextLine().trim();
+        System.out.print("Змінені за останні днів (Enter - будь-коли): ");
+        String days = sc.nextLine().trim();
+        System.out.print("Мін розмір (байт): ");
+        long minSize = sc.nextLong();
+        System.out.print("Скільки найбільших показати: ");
+        int k = sc.nextInt();
+
+        if (!Files.isDirectory(root)) {
+            System.out.println("Це не директорія.");
+            return;
+        }
+
+        FileQuery q = new FileQuery().minSize(minSize);
+        if (!glob.isEmpty()) q.glob(glob);
+        if (!days.isEmpty()) q.modifiedAfter(Instant.now().minus(Duration.ofDays(Long.parseLong(days))));
+
+        long t1 = System.nanoTime();
+        Result r = q.search(root, Runtime.getRuntime().availableProcessors(), k, null);
+        long t2 = System.nanoTime();
+
+        System.out.println("\nЗнайдено файлів: " + r.matched + ", байт: " + r.bytes + ", помилок: " + r.errors);
+        System.out.println("\nГістограма розмірів:");
+        for (int i = 0; i < r.histogram.length; i++) {
+            if (r.histogram[i] == 0) continue;
+            long from = i == 0 ? 0 : 1L << (i - 1);
+            System.out.printf("  від %d байт: %d%n", from, r.histogram[i]);
+        }
+        System.out.println("\nНайбільші файли:");
+        for (Match m : r.largest()) System.out.printf("  %12d  %s%n", m.size, m.path);
+        System.out.printf("Час: %.3f ms%n", (t2 - t1) / 1_000_000.0);
+    }
+}
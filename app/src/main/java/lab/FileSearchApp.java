@@ -0,0 +1,273 @@
+package lab;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Scanner;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class FileSearchApp {
+
+    static class FileStealTask extends RecursiveTask<Integer> {
+        private final Path dir;
+        private final long minSize;
+
+        FileStealTask(Path dir, long minSize) {
+            this.dir = dir;
+            this.minSize = minSize;
+        }
+
+        @Override
+        protected Integer compute() {
+            int c = 0;
+            var subs = new java.util.ArrayList<FileStealTask>();
+            try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir)) {
+                for (Path p : ds) {
+                    try {
+                        if (Files.isDirectory(p)) {
+                            FileStealTask t = new FileStealTask(p, minSize);
+                            t.fork();
+                            subs.add(t);
+                        } else if (Files.size(p) > minSize) c++;
+                    } catch (IOException ignored) {}
+                }
+            } catch (IOException ignored) {}
+            for (var t : subs) c += t.join();
+            return c;
+        }
+    }
+
+    static class ScanStats {
+        long files, dirs, bytes, matched, errors;
+
+        void merge(ScanStats o) {
+            files += o.files;
+            dirs += o.dirs;
+            bytes += o.bytes;
+            matched += o.matched;
+            errors += o.errors;
+        }
+    }
+
+    // Атрибути кожного запису читаються один раз (через SecureDirectoryStream, якщо ОС його дає —
+    // тоді stat виконується відносно дескриптора каталогу). Символьні посилання не слідуються.
+    static class ScanTask extends RecursiveTask<ScanStats> {
+        private final Path dir;
+        private final long minSize;
+
+        ScanTask(Path dir, long minSize) {
+            this.dir = dir;
+            this.minSize = minSize;
+        }
+
+        @Override
+        protected ScanStats compute() {
+            ScanStats st = new ScanStats();
+            st.dirs++;
+            var subs = new java.util.ArrayList<ScanTask>();
+            try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir)) {
+                for (Path p : ds) {
+                    try {
+                        BasicFileAttributes attrs = attributes(ds, p);
+                        if (attrs.isDirectory()) {
+                            ScanTask t = new ScanTask(p, minSize);
+                            t.fork();
+                            subs.add(t);
+                        } else if (attrs.isRegularFile()) {
+                            st.files++;
+                            st.bytes += attrs.size();
+                            if (attrs.size() > minSize) st.matched++;
+                        }
+                    } catch (IOException e) {
+                        st.errors++;
+                    }
+                }
+            } catch (IOException | DirectoryIteratorException e) {
+                st.errors++;
+            }
+            for (var t : subs) st.merge(t.join());
+            return st;
+        }
+    }
+
+    static BasicFileAttributes attributes(DirectoryStream<Path> ds, Path p) throws IOException {
+        if (ds instanceof SecureDirectoryStream) {
+            return ((SecureDirectoryStream<Path>) ds).getFileAttributeView(p.getFileName(),
+                    BasicFileAttributeView.class, LinkOption.NOFOLLOW_LINKS).readAttributes();
+        }
+        return Files.readAttributes(p, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+    }
+
+    static ScanStats scan(Path root, long minSize, int parallelism) {
+        ForkJoinPool fj = new ForkJoinPool(parallelism);
+        try {
+            return fj.invoke(new ScanTask(root, minSize));
+        } finally {
+            fj.shutdown();
+        }
+    }
+
+    // Окрема задача на кожен каталог; семафор обмежує кількість одночасних читань каталогів.
+    // Обхід завершено, коли лічильник незавершених каталогів падає до нуля.
+    static class Crawler {
+        private final ExecutorService exec;
+        private final Semaphore io;
+        private final long minSize;
+        private final AtomicLong pending = new AtomicLong();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final LongAdder files = new LongAdder();
+        private final LongAdder dirs = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder matched = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private Crawler(ExecutorService exec, int maxConcurrentIo, long minSize) {
+            this.exec = exec;
+            this.io = new Semaphore(maxConcurrentIo);
+            this.minSize = minSize;
+        }
+
+        static ScanStats crawl(Path root, long minSize, int maxConcurrentIo)
+                throws InterruptedException, ExecutionException {
+            ExecutorService exec = AsyncPipeline.virtualThreads(maxConcurrentIo);
+            try {
+                Crawler c = new Crawler(exec, maxConcurrentIo, minSize);
+                c.submit(root);
+                c.done.get();
+                ScanStats st = new ScanStats();
+                st.files = c.files.sum();
+                st.dirs = c.dirs.sum();
+                st.bytes = c.bytes.sum();
+                st.matched = c.matched.sum();
+                st.errors = c.errors.sum();
+                return st;
+            } finally {
+                exec.shutdownNow();
+            }
+        }
+
+        private void submit(Path dir) {
+            pending.incrementAndGet();
+            exec.execute(() -> {
+                try {
+                    visit(dir);
+                } catch (Throwable e) {
+                    done.completeExceptionally(e);
+                } finally {
+                    if (pending.decrementAndGet() == 0) done.complete(null);
+                }
+            });
+        }
+
+        private void visit(Path dir) throws InterruptedException {
+            dirs.increment();
+            var subs = new java.util.ArrayList<Path>();
+            io.acquire();
+            try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir)) {
+                for (Path p : ds) {
+                    try {
+                        BasicFileAttributes attrs = attributes(ds, p);
+                        if (attrs.isDirectory()) {
+                            subs.add(p);
+                        } else if (attrs.isRegularFile()) {
+                            files.increment();
+                            bytes.add(attrs.size());
+                            if (attrs.size() > minSize) matched.increment();
+                        }
+                    } catch (IOException e) {
+                        errors.increment();
+                    }
+                }
+            } catch (IOException | DirectoryIteratorException e) {
+                errors.increment();
+            } finally {
+                io.release();
+            }
+            for (Path p : subs) submit(p);
+        }
+    }
+
+    static int dealingCount(Path root, long minSize, int threads) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ConcurrentLinkedQueue<Path> q = new ConcurrentLinkedQueue<>();
+        q.add(root);
+        AtomicInteger c = new AtomicInteger();
+
+        Runnable w = () -> {
+            while (true) {
+                Path dir = q.poll();
+                if (dir == null) break;
+                try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir)) {
+                    for (Path p : ds) {
+                        try {
+                            if (Files.isDirectory(p)) q.add(p);
+                            else if (Files.size(p) > minSize) c.incrementAndGet();
+                        } catch (IOException ignored) {}
+                    }
+                } catch (IOException ignored) {}
+            }
+        };
+
+        for (int i = 0; i < threads; i++) pool.submit(w);
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.MINUTES);
+        return c.get();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Scanner sc = new Scanner(System.in);
+
+        System.out.print("Шлях до директорії: ");
+        String d = sc.nextLine().trim();
+        System.out.print("Мін розмір (байт): ");
+        long minSize = sc.nextLong();
+
+        Path root = Paths.get(d);
+        if (!Files.isDirectory(root)) {
+            System.out.println("Це не директорія.");
+            return;
+        }
+
+        ForkJoinPool fj = ForkJoinPool.commonPool();
+        long t1 = System.nanoTime();
+        int stealCount = fj.invoke(new FileStealTask(root, minSize));
+        long t2 = System.nanoTime();
+        System.out.println("\nForkJoin (work stealing):");
+        System.out.println("Файлів > " + minSize + ": " + stealCount);
+        System.out.printf("Час: %.3f ms%n", (t2 - t1) / 1_000_000.0);
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        t1 = System.nanoTime();
+        int dealingCount = dealingCount(root, minSize, threads);
+        t2 = System.nanoTime();
+
+        System.out.println("\nThreadPool (work dealing):");
+        System.out.println("Файлів > " + minSize + ": " + dealingCount);
+        System.out.printf("Час: %.3f ms%n", (t2 - t1) / 1_000_000.0);
+
+        t1 = System.nanoTime();
+        ScanStats st = scan(root, minSize, threads);
+        t2 = System.nanoTime();
+
+        System.out.println("\nForkJoin (один stat на запис):");
+        System.out.println("Файлів > " + minSize + ": " + st.matched);
+        System.out.println("Всього файлів: " + st.files + ", каталогів: " + st.dirs
+                + ", байт: " + st.bytes + ", помилок: " + st.errors);
+        System.out.printf("Час: %.3f ms%n", (t2 - t1) / 1_000_000.0);
+
+        int io = Integer.getInteger("filesearch.io", 64);
+        t1 = System.nanoTime();
+        ScanStats crawled = Crawler.crawl(root, minSize, io);
+        t2 = System.nanoTime();
+
+        System.out.println("\nКаталог на задачу (віртуальні потоки, до " + io + " читань одночасно):");
+        System.out.println("Файлів > " + minSize + ": " + crawled.matched);
+        System.out.println("Всього файлів: " + crawled.files + ", каталогів: " + crawled.dirs
+                + ", байт: " + crawled.bytes + ", помилок: " + crawled.errors);
+        System.out.printf("Час: %.3f ms%n", (t2 - t1) / 1_000_000.0);
+    }
+}
@@ -0,0 +1,322 @@
+package lab;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+
+public class MatrixApp {
+
+    static class StealTask extends RecursiveTask<long[]> {
+        private final int[][] a;
+        private final int fromCol, toCol;
+        private static final int THRESHOLD = 10;
+
+        StealTask(int[][] a, int fromCol, int toCol) {
+            this.a = a;
+            this.fromCol = fromCol;
+            this.toCol = toCol;
+        }
+
+        @Override
+        protected long[] compute() {
+            int len = toCol - fromCol;
+            if (len <= THRESHOLD) {
+                long[] r = new long[len];
+                for (int j = fromCol; j < toCol; j++) {
+                    long s = 0;
+                    for (int i = 0; i < a.length; i++) s += a[i][j];
+                    r[j - fromCol] = s;
+                }
+                return r;
+            }
+            int mid = fromCol + len / 2;
+            StealTask l = new StealTask(a, fromCol, mid);
+            StealTask r = new StealTask(a, mid, toCol);
+            l.fork();
+            long[] rr = r.compute();
+            long[] ll = l.join();
+            long[] res = new long[len];
+            System.arraycopy(ll, 0, res, 0, ll.length);
+            System.arraycopy(rr, 0, res, ll.length, rr.length);
+            return res;
+        }
+    }
+
+    // Результат пишеться у спільний масив за індексом; задача ділиться далі лише доки
+    // в черзі потоку мало зайвих задач і лист ще достатньо великий
+    static class AdaptiveStealTask extends RecursiveAction {
+        // Мінімум елементів у листі, щоб розщеплення окупалось
+        private static final int MIN_LEAF_CELLS = 1 << 14;
+        private static final int MAX_SURPLUS = 3;
+        private final int[][] a;
+        private final long[] out;
+        private final int fromCol, toCol;
+
+        AdaptiveStealTask(int[][] a, long[] out, int fromCol, int toCol) {
+            this.a = a;
+            this.out = out;
+            this.fromCol = fromCol;
+            this.toCol = toCol;
+        }
+
+        @Override
+        protected void compute() {
+            int minCols = Math.max(1, MIN_LEAF_CELLS / Math.max(1, a.length));
+            int from = fromCol, to = toCol;
+            List<AdaptiveStealTask> forked = new ArrayList<>();
+            while (to - from > minCols && getSurplusQueuedTaskCount() <= MAX_SURPLUS) {
+                int mid = from + (to - from) / 2;
+                // межа кратна 8 стовпцям зменшує, але не усуває спільні кеш-лінії out: дані long[]
+                // починаються після заголовка масиву, тож на стику сусідні листи ще ділять одну лінію
+                if (to - from > 16) mid = (mid + 7) & ~7;
+                AdaptiveStealTask t = new AdaptiveStealTask(a, out, mid, to);
+                t.fork();
+                forked.add(t);
+                to = mid;
+            }
+            for (int[] row : a)
+                for (int j = from; j < to; j++) out[j] += row[j];
+            for (int k = forked.size() - 1; k >= 0; k--) forked.get(k).join();
+        }
+    }
+
+    // Ядро, що додає блок рядків плоскої матриці до вектора сум стовпців
+    interface RowKernel {
+        void addRows(int[] m, int cols, int fromRow, int toRow, long[] acc);
+    }
+
+    static final RowKernel SCALAR_KERNEL = RowBlockSums::addRows;
+
+    // -Dmatrix.kernel=auto|vector|scalar; vector потребує --add-modules jdk.incubator.vector
+    static RowKernel selectKernel(String name) {
+        if (name.equals("scalar")) return SCALAR_KERNEL;
+        if (!name.equals("auto") && !name.equals("vector")) {
+            throw new IllegalArgumentException("Невідоме ядро: " + name);
+        }
+        try {
+            return (RowKernel) Class.forName("lab.VectorColumnSums").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            if (name.equals("vector")) {
+                System.out.println("Vector API недоступний (" + e + "), використовується скалярне ядро");
+            }
+            return SCALAR_KERNEL;
+        }
+    }
+
+    // Матриця у вигляді одного масиву int[] (row-major): рядки читаються послідовно,
+    // кожен потік рахує свій блок рядків у власний long[], потім часткові суми зливаються.
+    static class RowBlockSums {
+        // 64-байтна кеш-лінія = 8 значень long; вирівнювання відносне до початку даних масиву,
+        // а не до адреси, тож сусідні смуги ще можуть ділити одну лінію на стику
+        private static final int LONGS_PER_LINE = 8;
+
+        static int[] flatten(int[][] a, int cols) {
+            long size = (long) a.length * cols;
+            if (size > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Матриця завелика для одного масиву: " + size);
+            }
+            int[] m = new int[(int) size];
+            for (int i = 0; i < a.length; i++) System.arraycopy(a[i], 0, m, i * cols, cols);
+            return m;
+        }
+
+        static void addRows(int[] m, int cols, int fromRow, int toRow, long[] acc) {
+            int base = fromRow * cols;
+            for (int i = fromRow; i < toRow; i++, base += cols)
+                for (int j = 0; j < cols; j++) acc[j] += m[base + j];
+        }
+
+        static long[] compute(int[] m, int rows, int cols, ExecutorService pool, int threads)
+                throws InterruptedException, ExecutionException {
+            return compute(m, rows, cols, pool, threads, SCALAR_KERNEL);
+        }
+
+        static long[] compute(int[] m, int rows, int cols, ExecutorService pool, int threads, RowKernel kernel)
+                throws InterruptedException, ExecutionException {
+            int blocks = Math.max(1, Math.min(threads, rows));
+            int part = (rows + blocks - 1) / blocks;
+            List<Future<long[]>> partials = new ArrayList<>();
+            for (int start = 0; start < rows; start += part) {
+                int from = start;
+                int to = Math.min(rows, start + part);
+                partials.add(pool.submit(() -> {
+                    long[] acc = new long[cols];
+                    kernel.addRows(m, cols, from, to, acc);
+                    return acc;
+                }));
+            }
+            long[][] acc = new long[partials.size()][];
+            for (int k = 0; k < acc.length; k++) acc[k] = partials.get(k).get();
+
+            // Злиття по смугах стовпців кратних 8 long: менше спільних кеш-ліній між потоками, але не нуль
+            long[] res = new long[cols];
+            int stripe = (cols + threads - 1) / threads;
+            stripe = (stripe + LONGS_PER_LINE - 1) / LONGS_PER_LINE * LONGS_PER_LINE;
+            List<Future<?>> merges = new ArrayList<>();
+            for (int start = 0; start < cols; start += stripe) {
+                int from = start;
+                int to = Math.min(cols, start + stripe);
+                merges.add(pool.submit(() -> {
+                    for (long[] p : acc)
+                        for (int j = from; j < to; j++) res[j] += p[j];
+                }));
+            }
+            for (Future<?> f : merges) f.get();
+            return res;
+        }
+    }
+
+    static long[] dealingSums(int[][] a, int cols, ExecutorService pool, int threads)
+            throws InterruptedException, ExecutionException {
+        long[] dealing = new long[cols];
+        int part = (cols + threads - 1) / threads;
+        List<Future<?>> parts = new ArrayList<>();
+        for (int start = 0; start < cols; start += part) {
+            int from = start;
+            int to = Math.min(cols, start + part);
+            parts.add(pool.submit(() -> {
+                for (int j = from; j < to; j++) {
+                    long s = 0;
+                    for (int i = 0; i < a.length; i++) s += a[i][j];
+                    dealing[j] = s;
+                }
+            }));
+        }
+        for (Future<?> f : parts) f.get();
+        return dealing;
+    }
+
+    // Клітинок на шматок генерації; розбиття залежить лише від розміру матриці, не від кількості потоків
+    static final int GEN_CHUNK_CELLS = 1 << 16;
+
+    // Паралельне відтворюване заповнення: seed дає послідовність seed'ів шматків рядків,
+    // кожен шматок заповнюється власним SplittableRandom, тож той самий seed завжди дає ту саму матрицю
+    static int[][] generate(int rows, int cols, int min, int max, long seed, ExecutorService pool)
+            throws InterruptedException, ExecutionException {
+        int[][] a = new int[rows][];
+        int rowsPerChunk = Math.max(1, GEN_CHUNK_CELLS / Math.max(1, cols));
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<Future<?>> parts = new ArrayList<>();
+        for (int start = 0; start < rows; start += rowsPerChunk) {
+            int from = start;
+            int to = Math.min(rows, start + rowsPerChunk);
+            long chunkSeed = seeds.nextLong();
+            parts.add(pool.submit(() -> {
+                SplittableRandom r = new SplittableRandom(chunkSeed);
+                for (int i = from; i < to; i++) {
+                    int[] row = new int[cols];
+                    for (int j = 0; j < cols; j++) row[j] = (int) r.nextLong(min, (long) max + 1);
+                    a[i] = row;
+                }
+            }));
+        }
+        for (Future<?> f : parts) f.get();
+        return a;
+    }
+
+    // Межа друку: більші матриці і масиви сум друкуються вибірково — перші й останні limit/2 рядків/стовпців
+    static final int PRINT_LIMIT = Integer.getInteger("matrix.printLimit", 20);
+
+    static void printMatrix(int[][] a) {
+        printMatrix(a, PRINT_LIMIT);
+    }
+
+    static void printMatrix(int[][] a, int limit) {
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16));
+        int rows = a.length;
+        for (int i = 0; i < rows; i++) {
+            if (rows > limit && i == limit / 2) {
+                out.printf("  ... (%d рядків пропущено)%n", rows - 2 * (limit / 2));
+                i = rows - limit / 2 - 1;
+                continue;
+            }
+            int[] row = a[i];
+            for (int j = 0; j < row.length; j++) {
+                if (row.length > limit && j == limit / 2) {
+                    out.print("  ...");
+                    j = row.length - limit / 2 - 1;
+                    continue;
+                }
+                out.printf("%5d", row[j]);
+            }
+            out.println();
+        }
+        out.flush();
+    }
+
+    static void printSums(String t, long[] s, double ms) {
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16));
+        out.println("\n" + t);
+        for (int j = 0; j < s.length; j++) {
+            if (s.length > PRINT_LIMIT && j == PRINT_LIMIT / 2) {
+                out.printf("... (%d стовпців пропущено)%n", s.length - 2 * (PRINT_LIMIT / 2));
+                j = s.length - PRINT_LIMIT / 2 - 1;
+                continue;
+            }
+            out.printf("Стовпець %d = %d%n", j, s[j]);
+        }
+        out.printf("Час: %.3f ms%n", ms);
+        out.flush();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Scanner sc = new Scanner(System.in);
+
+        System.out.print("Рядків: ");
+        int rows = sc.nextInt();
+        System.out.print("Стовпців: ");
+        int cols = sc.nextInt();
+        System.out.print("Мін значення: ");
+        int min = sc.nextInt();
+        System.out.print("Макс значення: ");
+        int max = sc.nextInt();
+
+        // -Dmatrix.seed=N відтворює попередню матрицю
+        long seed = Long.getLong("matrix.seed", System.nanoTime());
+        long g1 = System.nanoTime();
+        int[][] a = generate(rows, cols, min, max, seed, ForkJoinPool.commonPool());
+        long g2 = System.nanoTime();
+        System.out.printf("%nЗгенеровано за %.3f ms, seed = %d%n", (g2 - g1) / 1_000_000.0, seed);
+
+        System.out.println("\nМатриця:");
+        printMatrix(a);
+
+        ForkJoinPool fj = ForkJoinPool.commonPool();
+        long t1 = System.nanoTime();
+        long[] steal = fj.invoke(new StealTask(a, 0, cols));
+        long t2 = System.nanoTime();
+        printSums("ForkJoin (work stealing)", steal, (t2 - t1) / 1_000_000.0);
+
+        long[] adaptive = new long[cols];
+        t1 = System.nanoTime();
+        fj.invoke(new AdaptiveStealTask(a, adaptive, 0, cols));
+        t2 = System.nanoTime();
+        printSums("ForkJoin (adaptive split)", adaptive, (t2 - t1) / 1_000_000.0);
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        t1 = System.nanoTime();
+        long[] dealing = dealingSums(a, cols, pool, threads);
+        t2 = System.nanoTime();
+
+        printSums("ThreadPool (work dealing)", dealing, (t2 - t1) / 1_000_000.0);
+
+        int[] flat = RowBlockSums.flatten(a, cols);
+        RowKernel kernel = selectKernel(System.getProperty("matrix.kernel", "auto"));
+        t1 = System.nanoTime();
+        long[] blocks = RowBlockSums.compute(flat, rows, cols, pool, threads, kernel);
+        t2 = System.nanoTime();
+        pool.shutdown();
+
+        String kernelName = kernel == SCALAR_KERNEL ? "scalar" : "vector";
+        printSums("Row blocks (flat int[], " + kernelName + ")", blocks, (t2 - t1) / 1_000_000.0);
+        System.out.println("Збігається з ForkJoin: " + (Arrays.equals(steal, adaptive) && Arrays.equals(steal, blocks)));
+    }
+}
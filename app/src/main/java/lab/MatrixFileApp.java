@@ -0,0 +1,191 @@
+package lab;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+
+// Матриця у бінарному файлі: заголовок (magic, cols, rows), далі int32 little-endian по рядках.
+// Файл читається шматками в один прямий буфер на потік, тож пам'ять не залежить від розміру файлу.
+public class MatrixFileApp {
+
+    static final int MAGIC = 0x4D545258;
+    static final int HEADER = 16;
+    // Розмір буфера, яким кожен потік читає свою частину
+    static final long CHUNK_BYTES = 8L << 20;
+
+    static class ColumnStats {
+        final long[] sum;
+        final int[] min;
+        final int[] max;
+        long rows;
+
+        ColumnStats(int cols) {
+            sum = new long[cols];
+            min = new int[cols];
+            max = new int[cols];
+            Arrays.fill(min, Integer.MAX_VALUE);
+            Arrays.fill(max, Integer.MIN_VALUE);
+        }
+
+        void add(IntBuffer ib, int rowCount) {
+            int cols = sum.length;
+            int k = 0;
+            for (int i = 0; i < rowCount; i++) {
+                for (int j = 0; j < cols; j++, k++) {
+                    int v = ib.get(k);
+                    sum[j] += v;
+                    if (v < min[j]) min[j] = v;
+                    if (v > max[j]) max[j] = v;
+                }
+            }
+            rows += rowCount;
+        }
+
+        void merge(ColumnStats o) {
+            for (int j = 0; j < sum.length; j++) {
+                sum[j] += o.sum[j];
+                if (o.min[j] < min[j]) min[j] = o.min[j];
+                if (o.max[j] > max[j]) max[j] = o.max[j];
+            }
+            rows += o.rows;
+        }
+
+        double mean(int j) {
+            return rows == 0 ? 0 : (double) sum[j] / rows;
+        }
+    }
+
+    static void generate(Path file, long rows, int cols, int min, int max, long seed) throws IOException {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Розміри мають бути більше 0");
+        }
+        SplittableRandom r = new SplittableRandom(seed);
+        ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            buf.putInt(MAGIC).putInt(cols).putLong(rows);
+            long cells = rows * cols;
+            for (long c = 0; c < cells; c++) {
+                if (!buf.hasRemaining()) {
+                    buf.flip();
+                    while (buf.hasRemaining()) ch.write(buf);
+                    buf.clear();
+                }
+                // межа в long: max + 1 переповнює int при max == Integer.MAX_VALUE
+                buf.putInt((int) r.nextLong(min, (long) max + 1));
+            }
+            buf.flip();
+            while (buf.hasRemaining()) ch.write(buf);
+        }
+    }
+
+    static ColumnStats aggregate(Path file, int threads) throws IOException, InterruptedException, ExecutionException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer h = ByteBuffer.allocate(HEADER).order(ByteOrder.LITTLE_ENDIAN);
+            while (h.hasRemaining() && ch.read(h) >= 0) ;
+            h.flip();
+            if (h.remaining() < HEADER || h.getInt() != MAGIC) {
+                throw new IOException("Файл не є матрицею: " + file);
+            }
+            int cols = h.getInt();
+            long rows = h.getLong();
+            if (cols <= 0 || rows <= 0) {
+                throw new IOException("Пошкоджений заголовок: рядків " + rows + ", стовпців " + cols);
+            }
+            long rowBytes = 4L * cols;
+            // ділення замість множення: rows * rowBytes з битого заголовка може переповнити long
+            if (rows > (ch.size() - HEADER) / rowBytes) {
+                throw new IOException("Файл обрізаний: " + rows + " x " + cols + " не вміщується в "
+                        + ch.size() + " байт");
+            }
+            if (rowBytes > Integer.MAX_VALUE) {
+                throw new IOException("Рядок не вміщується в один шматок: " + rowBytes + " байт");
+            }
+            long chunkRows = Math.max(1, CHUNK_BYTES / rowBytes);
+
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                long part = (rows + threads - 1) / threads;
+                List<Future<ColumnStats>> parts = new ArrayList<>();
+                for (long start = 0; start < rows; start += part) {
+                    long from = start;
+                    long to = Math.min(rows, start + part);
+                    parts.add(pool.submit(() -> {
+                        ColumnStats s = new ColumnStats(cols);
+                        // map на кожен шматок тримав би відображення до збирання сміття; один буфер
+                        // на потік перевикористовується, а позиційне читання не зсуває спільний канал
+                        ByteBuffer buf = ByteBuffer.allocateDirect((int) (Math.min(chunkRows, to - from) * rowBytes))
+                                .order(ByteOrder.LITTLE_ENDIAN);
+                        for (long row = from; row < to; row += chunkRows) {
+                            int n = (int) Math.min(chunkRows, to - row);
+                            buf.clear().limit((int) (n * rowBytes));
+                            long pos = HEADER + row * rowBytes;
+                            while (buf.hasRemaining()) {
+                                int read = ch.read(buf, pos);
+                                if (read < 0) throw new IOException("Файл обрізаний на позиції " + pos);
+                                pos += read;
+                            }
+                            buf.flip();
+                            s.add(buf.asIntBuffer(), n);
+                        }
+                        return s;
+                    }));
+                }
+                ColumnStats total = new ColumnStats(cols);
+                for (Future<ColumnStats> f : parts) total.merge(f.get());
+                return total;
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Scanner sc = new Scanner(System.in);
+
+        System.out.print("Режим (1 - згенерувати файл, 2 - порахувати стовпці): ");
+        int mode = sc.nextInt();
+        sc.nextLine();
+        System.out.print("Файл: ");
+        Path file = Paths.get(sc.nextLine().trim());
+
+        if (mode == 1) {
+            System.out.print("Рядків: ");
+            long rows = sc.nextLong();
+            System.out.print("Стовпців: ");
+            int cols = sc.nextInt();
+            System.out.print("Мін значення: ");
+            int min = sc.nextInt();
+            System.out.print("Макс значення: ");
+            int max = sc.nextInt();
+            System.out.print("Seed: ");
+            long seed = sc.nextLong();
+
+            long t1 = System.nanoTime();
+            generate(file, rows, cols, min, max, seed);
+            long t2 = System.nanoTime();
+            System.out.printf("Записано %d байт за %.3f ms%n", Files.size(file), (t2 - t1) / 1_000_000.0);
+            return;
+        }
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        long t1 = System.nanoTime();
+        ColumnStats s = aggregate(file, threads);
+        long t2 = System.nanoTime();
+
+        System.out.println("\nРядків: " + s.rows);
+        for (int j = 0; j < s.sum.length; j++)
+            System.out.printf("Стовпець %d: сума = %d, мін = %d, макс = %d, середнє = %.3f%n",
+                    j, s.sum[j], s.min[j], s.max[j], s.mean(j));
+        System.out.printf("Час: %.3f ms%n", (t2 - t1) / 1_000_000.0);
+    }
+}
@@ -0,0 +1,706 @@
+package lab;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ProducerConsumerSemaphoreDemo {
+
+    // Календар роботи складу: часовий пояс, години роботи, робочі дні і святкові дати.
+    // Статичні isOpen/millisToNextOpen працюють за DEFAULT (Пн-Пт 9:00-18:00 у системному поясі).
+    static class WorkHours {
+        static final int OPEN = 9;
+        static final int CLOSE = 18;
+        static final WorkHours DEFAULT = new WorkHours(ZoneId.systemDefault(), LocalTime.of(OPEN, 0),
+                LocalTime.of(CLOSE, 0), EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), Set.of());
+
+        final ZoneId zone;
+        final LocalTime open;
+        final LocalTime close;
+        final Set<DayOfWeek> days;
+        final Set<LocalDate> holidays;
+
+        WorkHours(ZoneId zone, LocalTime open, LocalTime close, Set<DayOfWeek> days, Set<LocalDate> holidays) {
+            if (!open.isBefore(close)) {
+                throw new IllegalArgumentException("Відкриття має бути раніше закриття: " + open + "-" + close);
+            }
+            if (days.isEmpty()) {
+                throw new IllegalArgumentException("Потрібен хоча б один робочий день");
+            }
+            this.zone = zone;
+            this.open = open;
+            this.close = close;
+            this.days = Set.copyOf(days);
+            this.holidays = Set.copyOf(holidays);
+        }
+
+        // -Dzone=Europe/Kyiv -Dhours=09:00-18:00 -Ddays=MONDAY,...,FRIDAY -Dholidays=2026-12-25,2027-01-01
+        static WorkHours fromProperties() {
+            ZoneId zone = ZoneId.of(System.getProperty("zone", ZoneId.systemDefault().getId()));
+            String[] hours = System.getProperty("hours", DEFAULT.open + "-" + DEFAULT.close).split("-");
+            Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+            String daysProp = System.getProperty("days");
+            if (daysProp == null) days.addAll(DEFAULT.days);
+            else for (String d : daysProp.split(",")) days.add(DayOfWeek.valueOf(d.trim().toUpperCase()));
+            Set<LocalDate> holidays = new HashSet<>();
+            String holidaysProp = System.getProperty("holidays", "");
+            for (String d : holidaysProp.split(",")) if (!d.isBlank()) holidays.add(LocalDate.parse(d.trim()));
+            return new WorkHours(zone, LocalTime.parse(hours[0]), LocalTime.parse(hours[1]), days, holidays);
+        }
+
+        boolean isWorkingDay(LocalDate date) {
+            return days.contains(date.getDayOfWeek()) && !holidays.contains(date);
+        }
+
+        boolean isOpenAt(Instant instant) {
+            ZonedDateTime z = instant.atZone(zone);
+            LocalTime time = z.toLocalTime();
+            return isWorkingDay(z.toLocalDate()) && !time.isBefore(open) && time.isBefore(close);
+        }
+
+        // Найближчий момент відкриття; сам instant, якщо склад уже відкритий
+        Instant nextOpen(Instant instant) {
+            if (isOpenAt(instant)) return instant;
+            ZonedDateTime z = instant.atZone(zone);
+            LocalDate date = z.toLocalDate();
+            if (!z.toLocalTime().isBefore(open)) date = date.plusDays(1);
+            // свята можуть зайняти довгий проміжок, але не більше кількох років
+            for (int i = 0; !isWorkingDay(date); i++) {
+                if (i > 3660) throw new IllegalStateException("Календар не має робочих днів");
+                date = date.plusDays(1);
+            }
+            return ZonedDateTime.of(date, open, zone).toInstant();
+        }
+
+        // Закриття поточного робочого дня; має сенс, коли склад відкритий
+        Instant nextClose(Instant instant) {
+            return ZonedDateTime.of(instant.atZone(zone).toLocalDate(), close, zone).toInstant();
+        }
+
+        static boolean isOpen(LocalDateTime now) {
+            return DEFAULT.isOpenAt(now.atZone(DEFAULT.zone).toInstant());
+        }
+
+        // 0, якщо склад уже відкритий
+        static long millisToNextOpen(LocalDateTime now) {
+            Instant instant = now.atZone(DEFAULT.zone).toInstant();
+            return Duration.between(instant, DEFAULT.nextOpen(instant)).toMillis();
+        }
+    }
+
+    // Ворота, що відкриваються за таймером: один потік ScheduledExecutorService перемикає стан у моменти
+    // відкриття і закриття з календаря, покупці в закритий час припарковані на CountDownLatch і всі разом
+    // звільняються при відкритті. Поки склад закритий, ніхто не прокидається.
+    static final class OpenGate implements AutoCloseable {
+        private final WorkHours hours;
+        private final Clock clock;
+        private final ScheduledExecutorService timer;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private volatile CountDownLatch opened = new CountDownLatch(1);
+
+        OpenGate(WorkHours hours, Clock clock) {
+            this.hours = hours;
+            this.clock = clock;
+            this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "WorkHours-timer");
+                t.setDaemon(true);
+                return t;
+            });
+            // початковий стан рахується одразу, щоб isOpen() був правильним ще до першого такту таймера
+            Instant now = clock.instant();
+            if (hours.isOpenAt(now)) {
+                opened.countDown();
+                schedule(hours.nextClose(now));
+            } else {
+                schedule(hours.nextOpen(now));
+            }
+        }
+
+        private static final class SystemGate {
+            static final OpenGate INSTANCE = new OpenGate(WorkHours.DEFAULT, Clock.systemUTC());
+        }
+
+        // Спільні ворота за WorkHours.DEFAULT для учасників, створених без власних
+        static OpenGate system() {
+            return SystemGate.INSTANCE;
+        }
+
+        boolean isOpen() {
+            return opened.getCount() == 0;
+        }
+
+        int waiting() {
+            return waiting.get();
+        }
+
+        void awaitOpen() throws InterruptedException {
+            CountDownLatch latch = opened;
+            if (latch.getCount() == 0) return;
+            waiting.incrementAndGet();
+            try {
+                latch.await();
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+
+        private void transition() {
+            Instant now = clock.instant();
+            if (hours.isOpenAt(now)) {
+                if (opened.getCount() != 0) {
+                    log("Склад відкрився, звільнено покупців: " + waiting.get());
+                    opened.countDown();
+                }
+                schedule(hours.nextClose(now));
+            } else {
+                if (opened.getCount() == 0) {
+                    opened = new CountDownLatch(1);
+                    log("Склад зачинився");
+                }
+                // таймер може спрацювати трохи раніше за настінний годинник — тоді просто перепланується
+                schedule(hours.nextOpen(now));
+            }
+        }
+
+        private void schedule(Instant at) {
+            long delay = Math.max(1, Duration.between(clock.instant(), at).toMillis());
+            try {
+                timer.schedule(this::transition, delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // ворота закриті
+            }
+        }
+
+        @Override
+        public void close() {
+            timer.shutdownNow();
+        }
+    }
+
+    // Спільний інтерфейс складу для Supplier і Customer
+    interface Store {
+        int getStock();
+
+        void supply(int quantity) throws InterruptedException;
+
+        void take(int quantity) throws InterruptedException;
+
+        default void takeOne() throws InterruptedException {
+            take(1);
+        }
+    }
+
+    static class Warehouse implements Store {
+        private final Semaphore items = new Semaphore(0);
+        private int stock = 0;
+
+        public synchronized int getStock() {
+            return stock;
+        }
+
+        public synchronized void supply(int quantity) {
+            if (quantity <= 0) {
+                throw new IllegalArgumentException("Кількість має бути більше 0");
+            }
+            stock += quantity;
+            items.release(quantity);
+            log("Постачальник привіз " + quantity + " од. На складі: " + stock);
+        }
+
+        public void takeOne() throws InterruptedException {
+            ThreadStateSampler.acquire(items, 1, "Warehouse.items");
+            synchronized (this) {
+                stock -= 1;
+                log("Покупець купив 1 од. Залишилось: " + stock);
+            }
+        }
+
+        public void take(int quantity) throws InterruptedException {
+            for (int i = 0; i < quantity; i++) takeOne();
+        }
+    }
+
+    // Склад без монітора: залишок — це дозволи семафора, тож supply/take(n) обходяться
+    // одним CAS у швидкому шляху, а take блокується, поки товару не вистачає.
+    // Журнал пишеться вже після операції і лише якщо verbose.
+    static class BatchedWarehouse implements Store {
+        private final Semaphore items = new Semaphore(0);
+        private final LongAdder supplied = new LongAdder();
+        private final LongAdder taken = new LongAdder();
+        private final boolean verbose;
+
+        BatchedWarehouse(boolean verbose) {
+            this.verbose = verbose;
+        }
+
+        public int getStock() {
+            return items.availablePermits();
+        }
+
+        public long getSupplied() {
+            return supplied.sum();
+        }
+
+        public long getTaken() {
+            return taken.sum();
+        }
+
+        public void supply(int quantity) {
+            if (quantity <= 0) {
+                throw new IllegalArgumentException("Кількість має бути більше 0");
+            }
+            items.release(quantity);
+            supplied.add(quantity);
+            if (verbose) log("Постачальник привіз " + quantity + " од. На складі: " + getStock());
+        }
+
+        public void take(int quantity) throws InterruptedException {
+            if (quantity <= 0) {
+                throw new IllegalArgumentException("Кількість має бути більше 0");
+            }
+            ThreadStateSampler.acquire(items, quantity, "BatchedWarehouse.items");
+            taken.add(quantity);
+            if (verbose) log("Покупець купив " + quantity + " од. Залишилось: " + getStock());
+        }
+    }
+
+    // Склад, розбитий на шарди з власними лічильниками залишку на окремих кеш-лініях: постачальник
+    // везе у свій домашній шард, покупець бере пачку зі свого одним CAS. Лише коли вдома не вистачає,
+    // покупець добирає з інших шардів по одному — під замком крадіїв, тож частково зібрану пачку
+    // водночас тримає щонайбільше один покупець і двоє не можуть нескінченно збирати і повертати
+    // одні й ті самі одиниці. Якщо і так не вистачило, крадій тримає зібране і чекає на умові;
+    // постачальники беруть замок лише тоді, коли лічильник сплячих ненульовий, тож у звичайному
+    // режимі учасники пишуть кожен у свій шард і спільних записів немає.
+    static class ShardedWarehouse implements Store {
+        // 16 long = 128 байт між лічильниками: окрема кеш-лінія плюс сусідня, яку тягне префетчер.
+        // Шард i лежить за індексом (i + 1) * PAD, щоб і перший не ділив лінію із заголовком масиву.
+        private static final int PAD = 16;
+
+        private final int shardCount;
+        private final AtomicLongArray stock;
+        private final AtomicInteger nextHome = new AtomicInteger();
+        private final ThreadLocal<Integer> home;
+        private final AtomicInteger sleepers = new AtomicInteger();
+        private final ReentrantLock stealLock = new ReentrantLock();
+        private final Condition supplied = stealLock.newCondition();
+        private final boolean verbose;
+
+        ShardedWarehouse(int shardCount, boolean verbose) {
+            if (shardCount <= 0) {
+                throw new IllegalArgumentException("Кількість шардів має бути більше 0");
+            }
+            this.shardCount = shardCount;
+            this.stock = new AtomicLongArray((shardCount + 1) * PAD);
+            this.home = ThreadLocal.withInitial(() -> Math.floorMod(nextHome.getAndIncrement(), shardCount));
+            this.verbose = verbose;
+        }
+
+        private static int slot(int shard) {
+            return (shard + 1) * PAD;
+        }
+
+        // Сума залишків шардів: по одному читанню на шард, без блокувань
+        public int getStock() {
+            long sum = 0;
+            for (int i = 0; i < shardCount; i++) sum += stock.get(slot(i));
+            return (int) sum;
+        }
+
+        public int getShardCount() {
+            return shardCount;
+        }
+
+        public void supply(int quantity) {
+            if (quantity <= 0) {
+                throw new IllegalArgumentException("Кількість має бути більше 0");
+            }
+            int h = home.get();
+            stock.getAndAdd(slot(h), quantity);
+            // після поставки: крадій, що зареєструвався раніше, або побачить одиниці, або отримає сигнал
+            if (sleepers.get() > 0) {
+                stealLock.lock();
+                try {
+                    supplied.signalAll();
+                } finally {
+                    stealLock.unlock();
+                }
+            }
+            if (verbose) log("Постачальник привіз " + quantity + " од. у шард " + h + ". На складі: " + getStock());
+        }
+
+        public void take(int quantity) throws InterruptedException {
+            if (quantity <= 0) {
+                throw new IllegalArgumentException("Кількість має бути більше 0");
+            }
+            int h = home.get();
+            if (!takeWhole(slot(h), quantity)) steal(h, quantity);
+            if (verbose) log("Покупець купив " + quantity + " од. Залишилось: " + getStock());
+        }
+
+        // Уся пачка з одного шарду одним CAS або нічого
+        private boolean takeWhole(int idx, int quantity) {
+            while (true) {
+                long have = stock.get(idx);
+                if (have < quantity) return false;
+                if (stock.compareAndSet(idx, have, have - quantity)) return true;
+            }
+        }
+
+        // Скільки вдалося зняти з шарду, не більше need
+        private long takeSome(int idx, long need) {
+            while (true) {
+                long have = stock.get(idx);
+                long n = Math.min(need, have);
+                if (n <= 0) return 0;
+                if (stock.compareAndSet(idx, have, have - n)) return n;
+            }
+        }
+
+        private void steal(int h, int quantity) throws InterruptedException {
+            long need = quantity;
+            stealLock.lockInterruptibly();
+            try {
+                sleepers.incrementAndGet();
+                try {
+                    while (true) {
+                        for (int k = 0; k < shardCount && need > 0; k++) {
+                            need -= takeSome(slot((h + k) % shardCount), need);
+                        }
+                        if (need == 0) return;
+                        supplied.await();
+                    }
+                } finally {
+                    sleepers.decrementAndGet();
+                }
+            } finally {
+                // перерваний крадій повертає зібране додому
+                if (need > 0 && need < quantity) stock.getAndAdd(slot(h), quantity - need);
+                stealLock.unlock();
+            }
+        }
+    }
+
+    // Склад обмеженої місткості: другий семафор рахує вільні місця. Коли місця немає,
+    // постачальник або чекає (BLOCK), або отримує RejectedExecutionException (REJECT).
+    static class BoundedWarehouse implements Store {
+        enum Overflow { BLOCK, REJECT }
+
+        private final Semaphore items = new Semaphore(0);
+        private final Semaphore space;
+        private final int capacity;
+        private final Overflow overflow;
+
+        BoundedWarehouse(int capacity, Overflow overflow) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Місткість має бути більше 0");
+            }
+            this.capacity = capacity;
+            this.space = new Semaphore(capacity);
+            this.overflow = overflow;
+        }
+
+        public int getStock() {
+            return items.availablePermits();
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void supply(int quantity) throws InterruptedException {
+            if (quantity <= 0 || quantity > capacity) {
+                throw new IllegalArgumentException("Кількість має бути від 1 до " + capacity);
+            }
+            if (overflow == Overflow.BLOCK) {
+                ThreadStateSampler.acquire(space, quantity, "BoundedWarehouse.space");
+            } else if (!space.tryAcquire(quantity)) {
+                throw new RejectedExecutionException("Склад переповнений: місткість " + capacity);
+            }
+            items.release(quantity);
+        }
+
+        public void take(int quantity) throws InterruptedException {
+            if (quantity <= 0 || quantity > capacity) {
+                throw new IllegalArgumentException("Кількість має бути від 1 до " + capacity);
+            }
+            ThreadStateSampler.acquire(items, quantity, "BoundedWarehouse.items");
+            space.release(quantity);
+        }
+    }
+
+    // Лічильники і гістограма затримок одного учасника (час виклику supply/take разом з очікуванням)
+    static class ParticipantStats {
+        final String name;
+        final LongAdder ops = new LongAdder();
+        final LongAdder units = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder skipped = new LongAdder();
+        final AsyncPipeline.LatencyHistogram latency = new AsyncPipeline.LatencyHistogram();
+
+        ParticipantStats(String name) {
+            this.name = name;
+        }
+
+        void record(int quantity, long nanos) {
+            ops.increment();
+            units.add(quantity);
+            latency.record(nanos);
+        }
+
+        String summary(long elapsedNanos) {
+            return String.format("%s: операцій %d, одиниць %d (%.1f од/с), відхилено %d, p50 %.1f us, p99 %.1f us",
+                    name, ops.sum(), units.sum(), units.sum() * 1e9 / Math.max(1, elapsedNanos), rejected.sum(),
+                    latency.percentile(50) / 1e3, latency.percentile(99) / 1e3)
+                    + (skipped.sum() > 0 ? ", пропущено тактів " + skipped.sum() : "");
+        }
+    }
+
+    static class Supplier implements Runnable {
+        private final Store warehouse;
+        private final ParticipantStats stats;
+        private final long intervalMs;
+
+        public Supplier(Store warehouse) {
+            this(warehouse, new ParticipantStats("Supplier"));
+        }
+
+        public Supplier(Store warehouse, ParticipantStats stats) {
+            this(warehouse, stats, 800);
+        }
+
+        public Supplier(Store warehouse, ParticipantStats stats, long intervalMs) {
+            this.warehouse = warehouse;
+            this.stats = stats;
+            this.intervalMs = intervalMs;
+        }
+
+        @Override
+        public void run() {
+            Thread.currentThread().setName(stats.name);
+            log("Постачальник почав роботу");
+            
+            try {
+                // фіксований темп: час самої поставки не зсуває наступну; такти, пропущені через
+                // блокування на повному складі, відкидаються, а не доганяються пачкою поставок
+                long interval = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+                long next = System.nanoTime();
+                while (!Thread.currentThread().isInterrupted()) {
+                    long t = System.nanoTime();
+                    try {
+                        warehouse.supply(1);
+                        stats.record(1, System.nanoTime() - t);
+                    } catch (RejectedExecutionException e) {
+                        stats.rejected.increment();
+                        log("Поставку відхилено: " + e.getMessage());
+                    }
+                    next += interval;
+                    long now = System.nanoTime();
+                    if (next <= now) {
+                        long missed = (now - next) / interval + 1;
+                        next += missed * interval;
+                        stats.skipped.add(missed);
+                    }
+                    TimeUnit.NANOSECONDS.sleep(next - now);
+                }
+            } catch (InterruptedException e) {
+                log("Постачальник завершує роботу");
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log("Помилка постачальника: " + e.getMessage());
+            }
+        }
+    }
+
+    static class Customer implements Runnable {
+        private final Store warehouse;
+        private final ParticipantStats stats;
+        private final OpenGate gate;
+
+        public Customer(Store warehouse) {
+            this(warehouse, new ParticipantStats("Customer"));
+        }
+
+        public Customer(Store warehouse, ParticipantStats stats) {
+            this(warehouse, stats, OpenGate.system());
+        }
+
+        public Customer(Store warehouse, ParticipantStats stats, OpenGate gate) {
+            this.warehouse = warehouse;
+            this.stats = stats;
+            this.gate = gate;
+        }
+
+        @Override
+        public void run() {
+            Thread.currentThread().setName(stats.name);
+            log("Покупець почав роботу");
+            
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    if (!gate.isOpen()) {
+                        log("Склад зачинений. Покупець чекає відкриття");
+                        gate.awaitOpen();
+                        continue;
+                    }
+                    
+                    log("Склад відкритий. Покупець намагається купити товар");
+                    long t = System.nanoTime();
+                    warehouse.takeOne();
+                    stats.record(1, System.nanoTime() - t);
+                    TimeUnit.MILLISECONDS.sleep(1000);
+                }
+            } catch (InterruptedException e) {
+                log("Покупець завершує роботу");
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log("Помилка покупця: " + e.getMessage());
+            }
+        }
+    }
+
+    // Раз на 3 с друкує частки станів за останнє вікно семплера
+    static class StateMonitor implements Runnable {
+        private final ThreadStateSampler sampler;
+
+        public StateMonitor(ThreadStateSampler sampler) {
+            this.sampler = sampler;
+        }
+
+        @Override
+        public void run() {
+            Thread.currentThread().setName("Monitor");
+            
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    AsyncLog.shared().raw("\n--- Стани потоків (останнє вікно) ---\n" + sampler.report(true)
+                            + "-------------------------------------");
+                    
+                    TimeUnit.SECONDS.sleep(3);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        AsyncLog.shared().raw("\n========================================");
+        AsyncLog.shared().raw("Лабораторна робота: Багатопоточність");
+        AsyncLog.shared().raw("Тема: Producer-Consumer з Semaphore");
+        AsyncLog.shared().raw("========================================\n");
+        
+        log("Початок демонстрації");
+        log("Постачальник працює цілодобово");
+        log("Покупець працює Пн-Пт 9:00-18:00");
+        log("");
+        
+        try {
+            // -Dwarehouse=batched вмикає склад без монітора, -Dcapacity=N — склад обмеженої місткості
+            // (-Doverflow=reject відхиляє поставки замість очікування), -Dsuppliers/-Dcustomers — кількість учасників,
+            // -Dwarehouse=ring — кільцевий буфер на один постачальник (-Dwait=spin|yield|park),
+            // -Dwarehouse=sharded — склад із шардами (-Dshards=N)
+            int capacity = Integer.getInteger("capacity", 0);
+            boolean ring = "ring".equals(System.getProperty("warehouse"));
+            Store warehouse;
+            if (ring) {
+                warehouse = new RingWarehouse(capacity > 0 ? capacity : 1024,
+                        RingWarehouse.WaitStrategy.of(System.getProperty("wait", "park")));
+            } else if (capacity > 0) {
+                warehouse = new BoundedWarehouse(capacity, "reject".equals(System.getProperty("overflow"))
+                        ? BoundedWarehouse.Overflow.REJECT : BoundedWarehouse.Overflow.BLOCK);
+            } else if ("batched".equals(System.getProperty("warehouse"))) {
+                warehouse = new BatchedWarehouse(true);
+            } else if ("sharded".equals(System.getProperty("warehouse"))) {
+                warehouse = new ShardedWarehouse(Integer.getInteger("shards",
+                        Runtime.getRuntime().availableProcessors()), true);
+            } else {
+                warehouse = new Warehouse();
+            }
+            // календар складу: -Dzone, -Dhours, -Ddays, -Dholidays (див. WorkHours.fromProperties)
+            OpenGate gate = new OpenGate(WorkHours.fromProperties(), Clock.systemUTC());
+            long supplyIntervalMs = Long.getLong("supplyIntervalMs", 800);
+            int suppliersCount = ring ? 1 : Integer.getInteger("suppliers", 1);
+            int customersCount = Integer.getInteger("customers", 1);
+
+            List<ParticipantStats> stats = new ArrayList<>();
+            List<Thread> participants = new ArrayList<>();
+            for (int i = 1; i <= suppliersCount; i++) {
+                ParticipantStats st = new ParticipantStats(suppliersCount == 1 ? "Supplier" : "Supplier-" + i);
+                stats.add(st);
+                participants.add(new Thread(new Supplier(warehouse, st, supplyIntervalMs)));
+            }
+            for (int i = 1; i <= customersCount; i++) {
+                ParticipantStats st = new ParticipantStats(customersCount == 1 ? "Customer" : "Customer-" + i);
+                stats.add(st);
+                participants.add(new Thread(new Customer(warehouse, st, gate)));
+            }
+            // -DsampleMicros — період вибірки станів, -DsampleWindow — розмір кільця на потік
+            ThreadStateSampler sampler = new ThreadStateSampler(Long.getLong("sampleMicros", 1000),
+                    Integer.getInteger("sampleWindow", 3000));
+            for (Thread t : participants) sampler.register(t);
+            Thread monitor = new Thread(new StateMonitor(sampler));
+            
+            log("Стан потоків перед запуском:");
+            for (int i = 0; i < participants.size(); i++)
+                log("  " + stats.get(i).name + ": " + participants.get(i).getState());
+            log("");
+            
+            long started = System.nanoTime();
+            for (Thread t : participants) t.start();
+            sampler.start();
+            monitor.setDaemon(true);
+            monitor.start();
+            
+            log("Стан потоків після запуску:");
+            for (Thread t : participants) log("  " + t.getName() + ": " + t.getState());
+            log("");
+            log("Система працює 20 секунд...");
+            log("");
+            
+            TimeUnit.SECONDS.sleep(20);
+            
+            log("");
+            log("Завершення роботи...");
+            for (Thread t : participants) t.interrupt();
+            for (Thread t : participants) t.join();
+            gate.close();
+            sampler.close();
+            long elapsed = System.nanoTime() - started;
+            
+            AsyncLog.shared().raw("\n========================================");
+            log("Всі потоки завершені");
+            for (ParticipantStats st : stats) log(st.summary(elapsed));
+            log("Частки часу в станах за весь час:\n" + sampler.report(false));
+            log("Залишок товару на складі: " + warehouse.getStock());
+            log("Демонстрація завершена");
+            AsyncLog.shared().raw("========================================\n");
+            AsyncLog.shared().flush();
+            
+        } catch (InterruptedException e) {
+            log("Помилка: " + e.getMessage());
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log("Критична помилка: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    // Запис іде в чергу AsyncLog, друкує його фоновий потік
+    static void log(String message) {
+        AsyncLog.shared().log(message);
+    }
+}
@@ -0,0 +1,178 @@
+package lab;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+// Склад на попередньо виділеному кільцевому буфері в стилі Disruptor: один постачальник
+// (single writer) і будь-яка кількість покупців, що змагаються за слоти через CAS курсора.
+// Кожен слот має власний номер послідовності: постачальник чекає, поки слот звільниться,
+// покупець — поки його опублікують. Курсори відокремлені від сусідів відступами на кеш-лінію,
+// очікування замість семафора — змінна стратегія (spin, yield, park).
+public class RingWarehouse implements ProducerConsumerSemaphoreDemo.Store {
+
+    interface WaitStrategy {
+        // attempt — номер невдалої спроби поспіль, починаючи з 0
+        void idle(int attempt) throws InterruptedException;
+
+        static WaitStrategy of(String name) {
+            switch (name) {
+                case "spin":
+                    return BUSY_SPIN;
+                case "yield":
+                    return YIELD;
+                case "park":
+                    return PARK;
+                default:
+                    throw new IllegalArgumentException("Невідома стратегія очікування: " + name);
+            }
+        }
+    }
+
+    static final WaitStrategy BUSY_SPIN = attempt -> {
+        if ((attempt & 1023) == 1023 && Thread.interrupted()) throw new InterruptedException();
+        Thread.onSpinWait();
+    };
+
+    static final WaitStrategy YIELD = attempt -> {
+        if (Thread.interrupted()) throw new InterruptedException();
+        if (attempt < 100) Thread.onSpinWait();
+        else Thread.yield();
+    };
+
+    static final WaitStrategy PARK = attempt -> {
+        if (Thread.interrupted()) throw new InterruptedException();
+        if (attempt < 100) Thread.onSpinWait();
+        else if (attempt < 200) Thread.yield();
+        else LockSupport.parkNanos(50_000);
+    };
+
+    static class LhsPadding {
+        protected long p1, p2, p3, p4, p5, p6, p7;
+    }
+
+    static class Value extends LhsPadding {
+        protected volatile long value;
+    }
+
+    // volatile long, що займає кеш-лінію сам
+    static final class Sequence extends Value {
+        private static final VarHandle VALUE;
+
+        static {
+            try {
+                VALUE = MethodHandles.lookup().findVarHandle(Value.class, "value", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        protected long p9, p10, p11, p12, p13, p14, p15;
+
+        long get() {
+            return value;
+        }
+
+        void setRelease(long v) {
+            VALUE.setRelease(this, v);
+        }
+
+        boolean compareAndSet(long expected, long v) {
+            return VALUE.compareAndSet(this, expected, v);
+        }
+    }
+
+    // Номери послідовностей слотів рознесені на 8 long, щоб сусідні слоти не ділили кеш-лінію
+    private static final int SLOT_PAD = 8;
+
+    private final int mask;
+    private final int capacity;
+    private final AtomicLongArray slotSeq;
+    private final long[] stamps;
+    private final Sequence produced = new Sequence();
+    private final Sequence consumed = new Sequence();
+    private final WaitStrategy wait;
+    private volatile Thread writer;
+
+    private static final VarHandle WRITER;
+
+    static {
+        try {
+            WRITER = MethodHandles.lookup().findVarHandle(RingWarehouse.class, "writer", Thread.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    RingWarehouse(int capacity, WaitStrategy wait) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Місткість має бути степенем двійки: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.wait = wait;
+        this.slotSeq = new AtomicLongArray(capacity * SLOT_PAD);
+        this.stamps = new long[capacity * SLOT_PAD];
+        for (int i = 0; i < capacity; i++) slotSeq.set(i * SLOT_PAD, i);
+    }
+
+    public int getStock() {
+        return (int) Math.max(0, produced.get() - consumed.get());
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void supply(int quantity) throws InterruptedException {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Кількість має бути більше 0");
+        }
+        for (int i = 0; i < quantity; i++) put(System.nanoTime());
+    }
+
+    public void take(int quantity) throws InterruptedException {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Кількість має бути більше 0");
+        }
+        for (int i = 0; i < quantity; i++) takeStamp();
+    }
+
+    // Публікує одиницю з міткою часу; викликати може лише один потік
+    void put(long stamp) throws InterruptedException {
+        Thread me = Thread.currentThread();
+        if (writer != me) {
+            // власність захоплюється атомарно: з двох перших постачальників писачем стане лише один
+            Thread owner = (Thread) WRITER.compareAndExchange(this, null, me);
+            if (owner != null && owner != me) {
+                throw new IllegalStateException("Кільцевий буфер підтримує лише одного постачальника");
+            }
+        }
+        long pos = produced.get();
+        int idx = ((int) pos & mask) * SLOT_PAD;
+        for (int attempt = 0; slotSeq.get(idx) != pos; attempt++) wait.idle(attempt);
+        stamps[idx] = stamp;
+        slotSeq.lazySet(idx, pos + 1);
+        produced.setRelease(pos + 1);
+    }
+
+    // Забирає одну одиницю і повертає мітку часу, з якою її опублікували
+    long takeStamp() throws InterruptedException {
+        int attempt = 0;
+        while (true) {
+            long pos = consumed.get();
+            int idx = ((int) pos & mask) * SLOT_PAD;
+            long seq = slotSeq.get(idx);
+            if (seq == pos + 1) {
+                if (consumed.compareAndSet(pos, pos + 1)) {
+                    long stamp = stamps[idx];
+                    slotSeq.lazySet(idx, pos + capacity);
+                    return stamp;
+                }
+            } else if (seq <= pos) {
+                wait.idle(attempt++);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package lab;
+
+import java.util.concurrent.Callable;
+
+// Примітивний варіант: частина масиву double[] підноситься до квадрату, сортується і без дублікатів
+class SquareChunkTask implements Callable<double[]> {
+    private final double[] numbers;
+    private final int from, to;
+
+    public SquareChunkTask(double[] numbers, int from, int to) {
+        this.numbers = numbers;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public double[] call() {
+        double[] squares = new double[to - from];
+        for (int i = from; i < to; i++) {
+            squares[i - from] = numbers[i] * numbers[i];
+        }
+        return DoubleSetCollector.sortedUnique(squares);
+    }
+}
@@ -0,0 +1,36 @@
+package lab;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+// Клас задачі: приймає список чисел, повертає масив їх квадратів
+class SquareTask implements Callable<Double[]> {
+    private final List<Double> numbers;
+    private final int partId;
+    private final long delayMs;
+    private final boolean verbose;
+
+    public SquareTask(List<Double> numbers, int partId) {
+        this(numbers, partId, 200, true);
+    }
+
+    // Бенчмарки передають verbose=false, щоб друк не потрапляв у виміряний час
+    public SquareTask(List<Double> numbers, int partId, long delayMs, boolean verbose) {
+        this.numbers = numbers;
+        this.partId = partId;
+        this.delayMs = delayMs;
+        this.verbose = verbose;
+    }
+
+    @Override
+    public Double[] call() throws Exception {
+        if (verbose) System.out.println("Потік " + Thread.currentThread().getName() + " обробляє частину " + partId);
+        if (delayMs > 0) Thread.sleep(delayMs);
+        
+        Double[] squares = new Double[numbers.size()];
+        for (int i = 0; i < numbers.size(); i++) {
+            squares[i] = numbers.get(i) * numbers.get(i);
+        }
+        return squares;
+    }
+}
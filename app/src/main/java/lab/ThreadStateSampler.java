@@ -0,0 +1,197 @@
+package lab;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+// Вибірка станів зареєстрованих потоків з високою частотою: один потік-семплер кожні periodMicros
+// читає Thread.getState() (без safepoint, без алокацій) і пише стан у кільцевий byte[] потоку та
+// в лічильники станів. Звідси частки часу в станах за весь час і за останнє вікно.
+// Епізоди BLOCKED відправляються в JFR як warehouse.LockWait; очікування семафорів пишуть
+// warehouse.SemaphoreWait самі склади через acquire().
+public class ThreadStateSampler implements AutoCloseable {
+
+    private static final Thread.State[] STATES = Thread.State.values();
+
+    @Name("warehouse.LockWait")
+    @Label("Lock Wait")
+    @Category("Warehouse")
+    @Description("Епізод BLOCKED на моніторі, виміряний семплером")
+    static class LockWait extends Event {
+        @Label("Thread")
+        String thread;
+
+        @Label("Blocked")
+        @Timespan(Timespan.MICROSECONDS)
+        long blockedMicros;
+
+        @Label("Samples")
+        int samples;
+    }
+
+    @Name("warehouse.SemaphoreWait")
+    @Label("Semaphore Wait")
+    @Category("Warehouse")
+    @Description("Очікування дозволів семафора складу, коли їх не вистачило одразу")
+    static class SemaphoreWait extends Event {
+        @Label("Semaphore")
+        String semaphore;
+
+        @Label("Permits")
+        int permits;
+    }
+
+    // Швидкий шлях — tryAcquire без подій; подія створюється лише коли потік справді чекатиме
+    static void acquire(Semaphore semaphore, int permits, String name) throws InterruptedException {
+        if (semaphore.tryAcquire(permits)) return;
+        SemaphoreWait event = new SemaphoreWait();
+        event.begin();
+        semaphore.acquire(permits);
+        event.end();
+        if (event.shouldCommit()) {
+            event.semaphore = name;
+            event.permits = permits;
+            event.commit();
+        }
+    }
+
+    static final class Track {
+        final Thread thread;
+        private final byte[] ring;
+        private final AtomicLongArray counts = new AtomicLongArray(STATES.length);
+        private volatile long samples;
+        private long blockedSince = -1;
+        private int blockedSamples;
+
+        Track(Thread thread, int window) {
+            this.thread = thread;
+            this.ring = new byte[window];
+        }
+
+        long samples() {
+            return samples;
+        }
+
+        long count(Thread.State state) {
+            return counts.get(state.ordinal());
+        }
+
+        // Частка вибірок у стані за весь час, %
+        double percent(Thread.State state) {
+            long n = samples;
+            return n == 0 ? 0 : 100.0 * count(state) / n;
+        }
+
+        // Частки станів за останні window вибірок, %, за порядком Thread.State.values()
+        double[] recentPercent() {
+            long n = samples;
+            int len = (int) Math.min(n, ring.length);
+            double[] out = new double[STATES.length];
+            if (len == 0) return out;
+            for (int i = 0; i < len; i++) out[ring[i]]++;
+            for (int i = 0; i < out.length; i++) out[i] = 100.0 * out[i] / len;
+            return out;
+        }
+
+        private void sample(long now) {
+            Thread.State st = thread.getState();
+            long n = samples;
+            ring[(int) (n % ring.length)] = (byte) st.ordinal();
+            counts.lazySet(st.ordinal(), counts.get(st.ordinal()) + 1);
+            samples = n + 1;
+            if (st == Thread.State.BLOCKED) {
+                if (blockedSince < 0) blockedSince = now;
+                blockedSamples++;
+            } else if (blockedSince >= 0) {
+                LockWait event = new LockWait();
+                if (event.isEnabled()) {
+                    event.thread = thread.getName();
+                    event.blockedMicros = (now - blockedSince) / 1_000;
+                    event.samples = blockedSamples;
+                    event.commit();
+                }
+                blockedSince = -1;
+                blockedSamples = 0;
+            }
+        }
+    }
+
+    private final long periodNanos;
+    private final int window;
+    private final List<Track> tracks = new CopyOnWriteArrayList<>();
+    private final Thread sampler;
+    private volatile boolean running = true;
+
+    ThreadStateSampler(long periodMicros, int window) {
+        if (periodMicros <= 0 || window <= 0) {
+            throw new IllegalArgumentException("Період і вікно мають бути більше 0");
+        }
+        this.periodNanos = TimeUnit.MICROSECONDS.toNanos(periodMicros);
+        this.window = window;
+        this.sampler = new Thread(this::loop, "StateSampler");
+        sampler.setDaemon(true);
+    }
+
+    Track register(Thread thread) {
+        Track t = new Track(thread, window);
+        tracks.add(t);
+        return t;
+    }
+
+    List<Track> tracks() {
+        return tracks;
+    }
+
+    void start() {
+        sampler.start();
+    }
+
+    private void loop() {
+        long next = System.nanoTime();
+        while (running) {
+            long now = System.nanoTime();
+            for (Track t : tracks) {
+                if (t.thread.getState() != Thread.State.TERMINATED || t.samples() == 0) t.sample(now);
+            }
+            next += periodNanos;
+            long delay = next - System.nanoTime();
+            if (delay > 0) LockSupport.parkNanos(delay);
+            else next = System.nanoTime();
+        }
+    }
+
+    // Рядок на потік: частки RUNNABLE/BLOCKED/WAITING/TIMED_WAITING за весь час або за вікно
+    String report(boolean recent) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-14s %9s %9s %9s %9s %9s%n", "thread", "samples", "RUNNABLE", "BLOCKED",
+                "WAITING", "TIMED_W"));
+        for (Track t : tracks) {
+            double[] pct = recent ? t.recentPercent() : new double[STATES.length];
+            if (!recent) for (Thread.State s : STATES) pct[s.ordinal()] = t.percent(s);
+            sb.append(String.format("%-14s %9d %8.1f%% %8.1f%% %8.1f%% %8.1f%%%n", t.thread.getName(), t.samples(),
+                    pct[Thread.State.RUNNABLE.ordinal()], pct[Thread.State.BLOCKED.ordinal()],
+                    pct[Thread.State.WAITING.ordinal()], pct[Thread.State.TIMED_WAITING.ordinal()]));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            sampler.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package lab;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+// SIMD-ядро для MatrixApp.RowBlockSums: int-смуга рядка розширюється до long-лейнів
+// і додається до акумулятора. Лежить в окремому src/vector/java, що компілюється з
+// --add-modules jdk.incubator.vector (див. app/pom.xml); запуск теж потребує цього прапорця.
+public class VectorColumnSums implements MatrixApp.RowKernel {
+    private static final VectorSpecies<Long> LS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> IS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(LS.vectorBitSize() / 2));
+    // кілька векторів за ітерацію, щоб сховати латентність завантажень
+    private static final int UNROLL = 4;
+
+    @Override
+    public void addRows(int[] m, int cols, int fromRow, int toRow, long[] acc) {
+        int lanes = LS.length();
+        int step = lanes * UNROLL;
+        int wide = cols - cols % step;
+        int tail = cols - cols % lanes;
+        int base = fromRow * cols;
+        for (int i = fromRow; i < toRow; i++, base += cols) {
+            int j = 0;
+            for (; j < wide; j += step) {
+                add(m, base + j, acc, j);
+                add(m, base + j + lanes, acc, j + lanes);
+                add(m, base + j + 2 * lanes, acc, j + 2 * lanes);
+                add(m, base + j + 3 * lanes, acc, j + 3 * lanes);
+            }
+            for (; j < tail; j += lanes) add(m, base + j, acc, j);
+            for (; j < cols; j++) acc[j] += m[base + j];
+        }
+    }
+
+    private static void add(int[] m, int from, long[] acc, int j) {
+        LongVector v = (LongVector) IntVector.fromArray(IS, m, from).castShape(LS, 0);
+        LongVector.fromArray(LS, acc, j).add(v).intoArray(acc, j);
+    }
+}
@@ -0,0 +1,45 @@
+package lab;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+// Спільне для бенчмарків: приглушення виводу навантажень, тимчасові дерева і вхідні дані
+final class BenchSupport {
+
+    private BenchSupport() {
+    }
+
+    // Глушить System.out на час замірів (журнал складу, друк потоків); повертає попередній потік
+    static PrintStream silence() {
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        return out;
+    }
+
+    // Дописує чергу AsyncLog у приглушений потік і повертає System.out
+    static void restore(PrintStream out) {
+        AsyncLog.shared().flush();
+        System.setOut(out);
+    }
+
+    // Видаляє дерево знизу вгору: спершу вміст, потім каталоги
+    static void deleteTree(Path root) throws IOException {
+        try (Stream<Path> s = Files.walk(root)) {
+            for (Path p : (Iterable<Path>) s.sorted(Comparator.reverseOrder())::iterator) Files.delete(p);
+        }
+    }
+
+    // Числа з повторами, щоб дедуплікація мала що робити
+    static double[] randomDoubles(int size) {
+        SplittableRandom r = new SplittableRandom(42);
+        double[] a = new double[size];
+        for (int i = 0; i < size; i++) a[i] = r.nextInt(Math.max(1, size / 2)) * 0.5;
+        return a;
+    }
+}
@@ -0,0 +1,110 @@
+package lab;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+// Сотні файлів одночасно: Files.write/readAllBytes у CompletableFuture на commonPool (як у
+// AsyncFileTask) проти AsynchronousFileChannel з пулом прямих буферів; окремо потоковий фільтр.
+// Кожен файл записується і читається, тож байтів за операцію — 2 * files * fileSize.
+// Запуск: java -jar bench/target/benchmarks.jar FileIoBenchmark -p files=200 -p fileSize=65536
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileIoBenchmark {
+
+    @Param({"200"})
+    int files;
+
+    @Param({"65536"})
+    int fileSize;
+
+    @Param({"4"})
+    int ioThreads;
+
+    @Param({"8388608"})
+    int filterSize;
+
+    private Path dir;
+    private List<Path> paths;
+    private byte[] data;
+    private Path in, out;
+    private ExecutorService handlers;
+    private ExecutorService stages;
+    private AsyncFileTask.AsyncIo aio;
+
+    @Setup
+    public void setup() throws IOException {
+        data = new byte[fileSize];
+        new SplittableRandom(42).nextBytes(data);
+        dir = Files.createTempDirectory("fileio-bench");
+        paths = new ArrayList<>();
+        for (int i = 0; i < files; i++) paths.add(dir.resolve("f" + i + ".bin"));
+
+        // латиниця, кирилиця, цифри і пунктуація, як у вхідних файлах AsyncFileTask
+        String alphabet = "abcdefghijklmnopqrstuvwxyzабвгдеєжзиіїйклмнопрстуфхцчшщьюя0123456789 ,.;-\n";
+        StringBuilder text = new StringBuilder(filterSize);
+        SplittableRandom r = new SplittableRandom(42);
+        while (text.length() < filterSize) text.append(alphabet.charAt(r.nextInt(alphabet.length())));
+        in = dir.resolve("in.txt");
+        out = dir.resolve("out.txt");
+        Files.write(in, text.toString().getBytes(StandardCharsets.UTF_8));
+
+        handlers = AsyncPipeline.ioPool(ioThreads);
+        aio = new AsyncFileTask.AsyncIo(handlers, new AsyncFileTask.AsyncIo.BufferPool(files));
+        // читач, фільтр і записувач блокуються одночасно, тож пул має тримати всі три стадії
+        stages = AsyncPipeline.virtualThreads();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        handlers.shutdown();
+        stages.shutdown();
+        BenchSupport.deleteTree(dir);
+    }
+
+    @Benchmark
+    public long blocking() {
+        List<CompletableFuture<Integer>> jobs = new ArrayList<>();
+        for (Path f : paths) {
+            jobs.add(CompletableFuture.runAsync(() -> {
+                try {
+                    Files.write(f, data);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).thenApplyAsync(v -> {
+                try {
+                    return Files.readAllBytes(f).length;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+        return jobs.stream().mapToLong(CompletableFuture::join).sum();
+    }
+
+    @Benchmark
+    public long async() {
+        List<CompletableFuture<Integer>> jobs = new ArrayList<>();
+        for (Path f : paths) {
+            jobs.add(aio.write(f, data).thenCompose(v -> aio.readAllBytes(f)).thenApply(b -> b.length));
+        }
+        return jobs.stream().mapToLong(CompletableFuture::join).sum();
+    }
+
+    @Benchmark
+    public long filter() {
+        return AsyncFileTask.StreamingFilter.filterAsync(in, out, stages).join();
+    }
+}
@@ -0,0 +1,103 @@
+package lab;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.*;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+// Порівняння стратегій обходу FileSearchApp і пошуку дублікатів. Без -p root=... генерується тимчасове дерево.
+// Кількість системних викликів можна звірити через strace -f -c -e trace=%stat.
+// Запуск: java -jar bench/target/benchmarks.jar FileSearchBenchmark -p root=/path -p threads=8
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileSearchBenchmark {
+
+    @Param({""})
+    String root;
+
+    @Param({"4096"})
+    long minSize;
+
+    @Param({"6"})
+    int fanout;
+
+    @Param({"2"})
+    int depth;
+
+    @Param({"100"})
+    int filesPerDir;
+
+    @Param({"4"})
+    int threads;
+
+    @Param({"64"})
+    int io;
+
+    private Path dir;
+    private boolean generated;
+    private ForkJoinPool fj;
+
+    static void generate(Path dir, int fanout, int depth, int filesPerDir, SplittableRandom r) throws IOException {
+        Files.createDirectories(dir);
+        for (int i = 0; i < filesPerDir; i++) {
+            try (RandomAccessFile f = new RandomAccessFile(dir.resolve("f" + i + ".dat").toFile(), "rw")) {
+                f.setLength(r.nextInt(16384));
+            }
+        }
+        if (depth > 0) {
+            for (int i = 0; i < fanout; i++) generate(dir.resolve("d" + i), fanout, depth - 1, filesPerDir, r);
+        }
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        generated = root.isEmpty();
+        if (generated) {
+            dir = Files.createTempDirectory("filesearch-bench");
+            generate(dir, fanout, depth, filesPerDir, new SplittableRandom(42));
+        } else {
+            dir = Paths.get(root);
+        }
+        fj = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        fj.shutdown();
+        if (generated) BenchSupport.deleteTree(dir);
+    }
+
+    @Benchmark
+    public int steal() {
+        return fj.invoke(new FileSearchApp.FileStealTask(dir, minSize));
+    }
+
+    @Benchmark
+    public int dealing() throws InterruptedException {
+        return FileSearchApp.dealingCount(dir, minSize, threads);
+    }
+
+    // Один readAttributes на запис замість isDirectory + size
+    @Benchmark
+    public long scan() {
+        return FileSearchApp.scan(dir, minSize, threads).matched;
+    }
+
+    @Benchmark
+    public long crawl() throws Exception {
+        return FileSearchApp.Crawler.crawl(dir, minSize, io).matched;
+    }
+
+    @Benchmark
+    public int duplicates() throws Exception {
+        return DuplicateFinder.find(dir, minSize, threads, Math.min(io, 16)).groups.size();
+    }
+}
@@ -0,0 +1,44 @@
+package lab;
+
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+// Сума добутків сусідніх елементів з AsyncMathTask, частини на пулі фіксованого розміру.
+// Запуск: java -jar bench/target/benchmarks.jar MathBenchmark -p size=1000000,10000000 -p chunks=4,16
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MathBenchmark {
+
+    @Param({"1000000"})
+    int size;
+
+    @Param({"4"})
+    int chunks;
+
+    @Param({"4"})
+    int threads;
+
+    private double[] input;
+    private ExecutorService executor;
+
+    @Setup
+    public void setup() {
+        input = BenchSupport.randomDoubles(size);
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public double adjacentProductSum() throws Exception {
+        return AsyncMathTask.adjacentProductSum(input, chunks, executor);
+    }
+}
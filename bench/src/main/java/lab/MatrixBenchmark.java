@@ -0,0 +1,115 @@
+package lab;
+
+import java.util.Arrays;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+// Порівняння стратегій MatrixApp на різних формах матриць і кількостях потоків.
+// Стратегія vector вимагає jdk.incubator.vector; форк запускається з --add-modules.
+// Запуск: java -jar bench/target/benchmarks.jar MatrixBenchmark -p shape=square -p threads=1,16
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class MatrixBenchmark {
+
+    interface Strategy {
+        long[] run(int[][] a, int[] flat, int rows, int cols) throws Exception;
+    }
+
+    @Param({"4000000", "16000000"})
+    long size;
+
+    @Param({"tall", "wide", "square"})
+    String shape;
+
+    @Param({"1", "4", "8"})
+    int threads;
+
+    @Param({"steal", "adaptive", "dealing", "rowblocks", "vector"})
+    String strategy;
+
+    private int[][] a;
+    private int[] flat;
+    private int rows, cols;
+    private ForkJoinPool fj;
+    private ExecutorService pool;
+    private Strategy run;
+
+    static int[] dims(String shape, long size) {
+        switch (shape) {
+            case "tall": {
+                int cols = (int) Math.max(1, Math.sqrt(size / 64.0));
+                return new int[]{(int) (size / cols), cols};
+            }
+            case "wide": {
+                int rows = (int) Math.max(1, Math.sqrt(size / 64.0));
+                return new int[]{rows, (int) (size / rows)};
+            }
+            case "square": {
+                int n = (int) Math.sqrt(size);
+                return new int[]{n, n};
+            }
+            default:
+                throw new IllegalArgumentException("Невідома форма: " + shape);
+        }
+    }
+
+    static Strategy strategy(String name, ForkJoinPool fj, ExecutorService pool, int threads) {
+        switch (name) {
+            case "steal":
+                return (a, flat, rows, cols) -> fj.invoke(new MatrixApp.StealTask(a, 0, cols));
+            case "adaptive":
+                return (a, flat, rows, cols) -> {
+                    long[] out = new long[cols];
+                    fj.invoke(new MatrixApp.AdaptiveStealTask(a, out, 0, cols));
+                    return out;
+                };
+            case "dealing":
+                return (a, flat, rows, cols) -> MatrixApp.dealingSums(a, cols, pool, threads);
+            case "rowblocks":
+                return (a, flat, rows, cols) -> MatrixApp.RowBlockSums.compute(flat, rows, cols, pool, threads);
+            case "vector": {
+                MatrixApp.RowKernel vector = MatrixApp.selectKernel("vector");
+                if (vector == MatrixApp.SCALAR_KERNEL) {
+                    throw new IllegalStateException("Vector API недоступний: потрібен --add-modules jdk.incubator.vector");
+                }
+                return (a, flat, rows, cols) -> MatrixApp.RowBlockSums.compute(flat, rows, cols, pool, threads, vector);
+            }
+            default:
+                throw new IllegalArgumentException("Невідома стратегія: " + name);
+        }
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        int[] d = dims(shape, size);
+        rows = d[0];
+        cols = d[1];
+        a = MatrixApp.generate(rows, cols, -1000, 1000, 42, ForkJoinPool.commonPool());
+        flat = MatrixApp.RowBlockSums.flatten(a, cols);
+        fj = new ForkJoinPool(threads);
+        pool = Executors.newFixedThreadPool(threads);
+        run = strategy(strategy, fj, pool, threads);
+        // кожна стратегія звіряється з послідовним еталоном до замірів
+        long[] expected = new long[cols];
+        for (int[] row : a) for (int j = 0; j < cols; j++) expected[j] += row[j];
+        if (!Arrays.equals(expected, run.run(a, flat, rows, cols))) {
+            throw new IllegalStateException("Результат " + strategy + " не збігається");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        fj.shutdown();
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public long[] columnSums() throws Exception {
+        return run.run(a, flat, rows, cols);
+    }
+}
@@ -0,0 +1,85 @@
+package lab;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+// Пропускна здатність і обсяг алокацій: List<Double> + CopyOnWriteArraySet проти double[] конвеєра.
+// boxed має квадратичний addAll, тому для нього окремий, менший набір розмірів.
+// Алокації на операцію: java -jar bench/target/benchmarks.jar SquaresBenchmark -prof gc
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SquaresBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Pool {
+        @Param({"4"})
+        int threads;
+
+        @Param({"4"})
+        int chunks;
+
+        ExecutorService executor;
+
+        @Setup
+        public void setup() {
+            executor = Executors.newFixedThreadPool(threads);
+        }
+
+        @TearDown
+        public void tearDown() {
+            executor.shutdown();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Boxed {
+        @Param({"10000", "50000"})
+        int boxedSize;
+
+        List<Double> input;
+
+        @Setup
+        public void setup() {
+            input = new ArrayList<>();
+            for (double d : BenchSupport.randomDoubles(boxedSize)) input.add(d);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Primitive {
+        @Param({"10000", "50000", "1000000"})
+        int size;
+
+        double[] input;
+
+        @Setup
+        public void setup() {
+            input = BenchSupport.randomDoubles(size);
+        }
+    }
+
+    @Benchmark
+    public int boxed(Boxed in, Pool pool) throws Exception {
+        CopyOnWriteArraySet<Double> resultSet = new CopyOnWriteArraySet<>();
+        List<Future<Double[]>> futures = new ArrayList<>();
+        int chunkSize = (int) Math.ceil((double) in.input.size() / pool.chunks);
+        for (int start = 0; start < in.input.size(); start += chunkSize) {
+            List<Double> part = in.input.subList(start, Math.min(start + chunkSize, in.input.size()));
+            futures.add(pool.executor.submit(new SquareTask(part, start / chunkSize + 1, 0, false)));
+        }
+        for (Future<Double[]> f : futures) resultSet.addAll(Arrays.asList(f.get()));
+        return resultSet.size();
+    }
+
+    @Benchmark
+    public int primitive(Primitive in, Pool pool) throws Exception {
+        return AsyncSquaresFinal.squaresPrimitive(in.input, pool.chunks, pool.executor).length;
+    }
+}
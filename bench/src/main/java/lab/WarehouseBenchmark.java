@@ -0,0 +1,231 @@
+package lab;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+
+// Пропускна здатність складів із багатьма постачальниками і покупцями (transfer) і час обміну однією
+// одиницею туди й назад між двома потоками через пару складів (roundTrip).
+// Журнал класичного Warehouse глушиться: міряється черга AsyncLog і монітор, а не термінал.
+// Після transfer кожен учасник друкує свою затримку supply/take за всі вимірювальні ітерації.
+// Кільцевий склад має одного постачальника: для transfer потрібно -p suppliers=1.
+// sharded має шард на ядро (щонайменше 2), sharded-N — рівно N шардів; ring-spin варто міряти лише
+// на машинах з більш ніж двома ядрами, бо без вільного ядра активне очікування спалює кванти.
+// Запуск: java -jar bench/target/benchmarks.jar WarehouseBenchmark.transfer -p impl=ring-yield -p suppliers=1
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WarehouseBenchmark {
+
+    static Supplier<ProducerConsumerSemaphoreDemo.Store> factory(String impl, int capacity) {
+        if (impl.startsWith("sharded-")) {
+            int shards = Integer.parseInt(impl.substring(8));
+            return () -> new ProducerConsumerSemaphoreDemo.ShardedWarehouse(shards, false);
+        }
+        if (impl.startsWith("ring-")) {
+            RingWarehouse.WaitStrategy wait = RingWarehouse.WaitStrategy.of(impl.substring(5));
+            return () -> new RingWarehouse(capacity, wait);
+        }
+        switch (impl) {
+            case "classic":
+                return ProducerConsumerSemaphoreDemo.Warehouse::new;
+            case "batched":
+                return () -> new ProducerConsumerSemaphoreDemo.BatchedWarehouse(false);
+            case "sharded":
+                return () -> new ProducerConsumerSemaphoreDemo.ShardedWarehouse(
+                        Math.max(2, Runtime.getRuntime().availableProcessors()), false);
+            case "bounded":
+                return () -> new ProducerConsumerSemaphoreDemo.BoundedWarehouse(capacity,
+                        ProducerConsumerSemaphoreDemo.BoundedWarehouse.Overflow.BLOCK);
+            default:
+                throw new IllegalArgumentException("Невідомий склад: " + impl);
+        }
+    }
+
+    // Статистика учасника накопичується через усі ітерації
+    static ProducerConsumerSemaphoreDemo.ParticipantStats participant(
+            List<ProducerConsumerSemaphoreDemo.ParticipantStats> stats, int idx, String name) {
+        if (idx < stats.size()) return stats.get(idx);
+        var st = new ProducerConsumerSemaphoreDemo.ParticipantStats(name);
+        stats.add(st);
+        return st;
+    }
+
+    // Кожен учасник проводить свою частку units пачками по batch одиниць; повертає перенесені одиниці
+    static long run(ProducerConsumerSemaphoreDemo.Store store, ExecutorService pool, int suppliers, int customers,
+                    int batch, int units, List<ProducerConsumerSemaphoreDemo.ParticipantStats> stats)
+            throws Exception {
+        CyclicBarrier start = new CyclicBarrier(suppliers + customers);
+        List<Future<?>> all = new ArrayList<>();
+        int perSupplier = units / suppliers / batch;
+        // залишок пачок ділиться між першими покупцями, щоб забрали рівно стільки, скільки привезли
+        int batches = perSupplier * suppliers;
+        for (int i = 0; i < suppliers; i++) {
+            var st = participant(stats, i, "Supplier-" + (i + 1));
+            all.add(pool.submit(() -> {
+                start.await();
+                for (int k = 0; k < perSupplier; k++) {
+                    long t = System.nanoTime();
+                    store.supply(batch);
+                    st.record(batch, System.nanoTime() - t);
+                }
+                return null;
+            }));
+        }
+        for (int i = 0; i < customers; i++) {
+            var st = participant(stats, suppliers + i, "Customer-" + (i + 1));
+            int perCustomer = batches / customers + (i < batches % customers ? 1 : 0);
+            all.add(pool.submit(() -> {
+                start.await();
+                for (int k = 0; k < perCustomer; k++) {
+                    long t = System.nanoTime();
+                    store.take(batch);
+                    st.record(batch, System.nanoTime() - t);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> f : all) f.get();
+        return (long) batches * batch;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Transfer {
+        @Param({"classic", "batched", "sharded", "bounded"})
+        String impl;
+
+        @Param({"4"})
+        int suppliers;
+
+        @Param({"4"})
+        int customers;
+
+        @Param({"1", "16"})
+        int batch;
+
+        @Param({"200000"})
+        int units;
+
+        @Param({"64"})
+        int capacity;
+
+        Supplier<ProducerConsumerSemaphoreDemo.Store> factory;
+        ExecutorService pool;
+        // лише вимірювальні ітерації: статистика прогріву відкидається на початку першої з них
+        final List<ProducerConsumerSemaphoreDemo.ParticipantStats> stats = new ArrayList<>();
+        long elapsedNanos;
+        private boolean measuring;
+        private PrintStream out;
+
+        @Setup
+        public void setup() {
+            if (impl.startsWith("ring-") && suppliers != 1) {
+                throw new IllegalArgumentException("Кільцевий склад має одного постачальника: -p suppliers=1");
+            }
+            if (impl.equals("bounded") && batch > capacity) {
+                throw new IllegalArgumentException("Пачка " + batch + " більша за місткість " + capacity);
+            }
+            factory = factory(impl, capacity);
+            pool = Executors.newFixedThreadPool(suppliers + customers);
+            out = BenchSupport.silence();
+        }
+
+        @Setup(Level.Iteration)
+        public void iteration(IterationParams params) {
+            if (params.getType() == IterationType.MEASUREMENT && !measuring) {
+                measuring = true;
+                stats.clear();
+                elapsedNanos = 0;
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            pool.shutdown();
+            BenchSupport.restore(out);
+            var sup = new AsyncPipeline.LatencyHistogram();
+            var cust = new AsyncPipeline.LatencyHistogram();
+            for (var st : stats) (st.name.startsWith("Supplier") ? sup : cust).add(st.latency);
+            System.out.printf("%n%s sup=%d cust=%d batch=%d: supply p50 %.1f us, p99 %.1f us; take p50 %.1f us, "
+                            + "p99 %.1f us%n", impl, suppliers, customers, batch, sup.percentile(50) / 1e3,
+                    sup.percentile(99) / 1e3, cust.percentile(50) / 1e3, cust.percentile(99) / 1e3);
+            for (var st : stats) System.out.println("    " + st.summary(elapsedNanos));
+        }
+    }
+
+    // Пара складів і потік-відлуння, що забирає одиницю з there і повертає її в back.
+    // Склади створюються на кожну ітерацію: кільцевий склад прив'язується до потоку-постачальника,
+    // а JMH не гарантує той самий потік для всіх ітерацій.
+    @State(Scope.Thread)
+    public static class PingPong {
+        @Param({"classic", "batched", "sharded", "bounded", "ring-yield", "ring-park"})
+        String impl;
+
+        @Param({"64"})
+        int capacity;
+
+        ProducerConsumerSemaphoreDemo.Store there, back;
+        private Thread echo;
+        private PrintStream out;
+
+        @Setup(Level.Trial)
+        public void silence() {
+            out = BenchSupport.silence();
+        }
+
+        @TearDown(Level.Trial)
+        public void restore() {
+            BenchSupport.restore(out);
+        }
+
+        @Setup(Level.Iteration)
+        public void start() {
+            var f = factory(impl, capacity);
+            there = f.get();
+            back = f.get();
+            ProducerConsumerSemaphoreDemo.Store in = there, reply = back;
+            echo = new Thread(() -> {
+                try {
+                    while (true) {
+                        in.take(1);
+                        reply.supply(1);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "echo");
+            echo.setDaemon(true);
+            echo.start();
+        }
+
+        @TearDown(Level.Iteration)
+        public void stop() throws InterruptedException {
+            echo.interrupt();
+            echo.join();
+        }
+    }
+
+    @Benchmark
+    public long transfer(Transfer t) throws Exception {
+        long start = System.nanoTime();
+        long moved = run(t.factory.get(), t.pool, t.suppliers, t.customers, t.batch, t.units, t.stats);
+        t.elapsedNanos += System.nanoTime() - start;
+        return moved;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void roundTrip(PingPong p) throws InterruptedException {
+        p.there.supply(1);
+        p.back.take(1);
+    }
+}